@@ -0,0 +1,69 @@
+#!/usr/bin/env sh
+# Mede o tempo até a primeira requisição atendida (GET /actuator/health = 200) do serviço.
+#
+# Uso:  scripts/measure-startup.sh [jar] [execuções]
+#   Compara três modos de início com o mesmo jar:
+#     padrao   java -jar
+#     cds      jar extraído + arquivo CDS (como no Dockerfile)
+#     aot+cds  o anterior com -Dspring.aot.enabled=true (o jar deve ter sido gerado com mvn -Paot package)
+#   A configuração (banco, chave JWT, Eureka...) vem do ambiente, como em produção
+#   (ex: SPRING_DATASOURCE_URL, JWT_PRIVATE_KEY, EUREKA_CLIENT_ENABLED=false).
+#   PORT (padrão 8080) deve ser a porta HTTP configurada.
+set -eu
+
+JAR=${1:-$(ls target/servico-usuarios-*.jar | grep -v plain | head -n 1)}
+RUNS=${2:-5}
+PORT=${PORT:-8080}
+WORK=$(mktemp -d)
+trap 'rm -rf "$WORK"' EXIT
+
+now_ms() {
+    date +%s%3N
+}
+
+# Inicia o serviço com os argumentos informados e imprime o tempo (ms) até o primeiro 200
+measure() {
+    start=$(now_ms)
+    "$@" > "$WORK/app.log" 2>&1 &
+    pid=$!
+    until curl -fs -o /dev/null "http://localhost:$PORT/actuator/health"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "O serviço terminou antes de responder; veja o log:" >&2
+            cat "$WORK/app.log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    end=$(now_ms)
+    kill "$pid" && wait "$pid" 2>/dev/null || true
+    echo $((end - start))
+}
+
+# Executa um modo RUNS vezes e imprime a mediana
+report() {
+    mode=$1
+    shift
+    times=""
+    i=0
+    while [ "$i" -lt "$RUNS" ]; do
+        times="$times $(measure "$@")"
+        i=$((i + 1))
+    done
+    median=$(echo "$times" | tr ' ' '\n' | grep -v '^$' | sort -n | awk '{a[NR]=$1} END {print a[int((NR + 1) / 2)]}')
+    printf '%-8s mediana %6s ms  (execuções:%s)\n' "$mode" "$median" "$times"
+}
+
+java -Djarmode=tools -jar "$JAR" extract --destination "$WORK/extracted" > /dev/null
+# Execução de treino do CDS (o contexto sobe e a JVM termina logo após o refresh)
+java -XX:ArchiveClassesAtExit="$WORK/app.jsa" -Dspring.context.exit=onRefresh \
+    -jar "$WORK/extracted/app.jar" > "$WORK/training.log" 2>&1
+
+report padrao java -jar "$JAR"
+report cds java -XX:SharedArchiveFile="$WORK/app.jsa" -jar "$WORK/extracted/app.jar"
+if unzip -l "$JAR" | grep -q '__ApplicationContextInitializer'; then
+    java -XX:ArchiveClassesAtExit="$WORK/app-aot.jsa" -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh \
+        -jar "$WORK/extracted/app.jar" > "$WORK/training-aot.log" 2>&1
+    report aot+cds java -XX:SharedArchiveFile="$WORK/app-aot.jsa" -Dspring.aot.enabled=true -jar "$WORK/extracted/app.jar"
+else
+    echo "aot+cds  ignorado: o jar não foi gerado com mvn -Paot package"
+fi
@@ -0,0 +1,91 @@
+#!/usr/bin/env sh
+# Smoke test da imagem nativa: sobe o binário nativo e o jar (JVM) contra um PostgreSQL local
+# (Docker), verifica cadastro e login e compara o tempo até a primeira requisição e a memória (RSS).
+#
+# Pré-requisitos: Docker, openssl, curl e os artefatos gerados por
+#   mvn -DskipTests package            (target/servico-usuarios-*.jar)
+#   mvn -Pnative -DskipTests package   (target/servico-usuarios)
+#
+# Uso:  scripts/native-smoke-test.sh [binário nativo] [jar]
+set -eu
+
+NATIVE=${1:-target/servico-usuarios}
+JAR=${2:-$(ls target/servico-usuarios-*.jar | grep -v plain | head -n 1)}
+PORT=${PORT:-18080}
+DB_PORT=${DB_PORT:-55432}
+CONTAINER=servico-usuarios-native-smoke
+WORK=$(mktemp -d)
+
+cleanup() {
+    docker rm -f "$CONTAINER" > /dev/null 2>&1 || true
+    rm -rf "$WORK"
+}
+trap cleanup EXIT
+
+now_ms() {
+    date +%s%3N
+}
+
+docker run -d --name "$CONTAINER" -p "$DB_PORT:5432" \
+    -e POSTGRES_DB=usuarios -e POSTGRES_USER=usuarios -e POSTGRES_PASSWORD=usuarios postgres:16 > /dev/null
+until docker exec "$CONTAINER" pg_isready -U usuarios -d usuarios > /dev/null 2>&1; do
+    sleep 0.5
+done
+
+openssl genpkey -algorithm RSA -pkeyopt rsa_keygen_bits:2048 -out "$WORK/jwt.pem" 2> /dev/null
+
+export SERVER_PORT="$PORT"
+export SPRING_DATASOURCE_URL="jdbc:postgresql://localhost:$DB_PORT/usuarios"
+export SPRING_DATASOURCE_USERNAME=usuarios
+export SPRING_DATASOURCE_PASSWORD=usuarios
+export SPRING_JPA_HIBERNATE_DDL_AUTO=update
+export EUREKA_CLIENT_ENABLED=false
+export SPRING_CLOUD_DISCOVERY_ENABLED=false
+export GRPC_SERVER_PORT=-1
+export JWT_EXPIRATION_TIME=3600000
+JWT_PRIVATE_KEY=$(cat "$WORK/jwt.pem")
+export JWT_PRIVATE_KEY
+
+# Executa um modo: início, cadastro + login, RSS; imprime uma linha do relatório
+run() {
+    mode=$1
+    cpf=$2
+    shift 2
+
+    start=$(now_ms)
+    "$@" > "$WORK/$mode.log" 2>&1 &
+    pid=$!
+    until curl -fs -o /dev/null "http://localhost:$PORT/actuator/health"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "[$mode] o serviço terminou antes de responder:" >&2
+            cat "$WORK/$mode.log" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    startup=$(($(now_ms) - start))
+
+    # As tabelas são criadas no primeiro início; a role padrão é necessária para o cadastro
+    docker exec "$CONTAINER" psql -q -U usuarios -d usuarios -c \
+        "INSERT INTO roles (id, name) VALUES (1, 'ROLE_USER'), (2, 'ROLE_ADMIN') ON CONFLICT DO NOTHING" > /dev/null
+
+    register=$(curl -s -o /dev/null -w '%{http_code}' -H 'Content-Type: application/json' \
+        -d "{\"cpf\":\"$cpf\",\"fullname\":\"Smoke $mode\",\"email\":\"smoke-$mode@example.com\",\"password\":\"senha-smoke-123\",\"birth_date\":\"1990-01-01\"}" \
+        "http://localhost:$PORT/auth/register")
+    login=$(curl -s -o /dev/null -w '%{http_code}' -H 'Content-Type: application/json' \
+        -d "{\"email\":\"smoke-$mode@example.com\",\"password\":\"senha-smoke-123\"}" \
+        "http://localhost:$PORT/auth/login")
+    rss_kb=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+
+    kill "$pid" && wait "$pid" 2>/dev/null || true
+
+    printf '%-7s início %6s ms   RSS %7s KB   register %s   login %s\n' "$mode" "$startup" "$rss_kb" "$register" "$login"
+    if [ "$register" != "201" ] || [ "$login" != "200" ]; then
+        echo "[$mode] falha no cadastro/login; veja o log:" >&2
+        cat "$WORK/$mode.log" >&2
+        exit 1
+    fi
+}
+
+run jvm 52998224725 java -jar "$JAR"
+run native 11144477735 "$NATIVE"
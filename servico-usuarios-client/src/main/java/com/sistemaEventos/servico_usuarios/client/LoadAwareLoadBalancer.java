@@ -0,0 +1,80 @@
+package com.sistemaEventos.servico_usuarios.client;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Balanceamento no cliente (Spring Cloud LoadBalancer) que prefere as instâncias menos
+ * carregadas do {@code servico-usuarios}, a partir do {@code load.score} publicado nos metadados
+ * do Eureka pelo {@code LoadMetadataPublisher} do serviço.
+ * <p>
+ * Usa a estratégia "power of two choices": sorteia duas instâncias e escolhe a de menor score.
+ * Como o score chega com atraso (replicação do Eureka), escolher sempre a de menor score
+ * mandaria todo o tráfego para a mesma instância até a próxima atualização; o sorteio
+ * distribui a carga e ainda evita as instâncias saturadas. Instâncias sem o metadado (versões
+ * antigas) têm score {@code 0}.
+ * <p>
+ * Para usar nos serviços clientes, ver {@link LoadAwareLoadBalancerConfiguration}.
+ */
+public class LoadAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+    /**
+     * A chave do metadado, igual à {@code LoadMetadataPublisher.SCORE_KEY} do serviço.
+     */
+    public static final String SCORE_KEY = "load.score";
+
+    private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+
+    public LoadAwareLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider) {
+        this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = serviceInstanceListSupplierProvider
+                .getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(this::choose);
+    }
+
+    private Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+        if (instances.size() == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(instances.size());
+        int second = random.nextInt(instances.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+
+        ServiceInstance a = instances.get(first);
+        ServiceInstance b = instances.get(second);
+        return new DefaultResponse(score(b) < score(a) ? b : a);
+    }
+
+    static double score(ServiceInstance instance) {
+        String value = instance.getMetadata().get(SCORE_KEY);
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
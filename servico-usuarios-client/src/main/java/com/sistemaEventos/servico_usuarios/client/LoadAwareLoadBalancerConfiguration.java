@@ -0,0 +1,27 @@
+package com.sistemaEventos.servico_usuarios.client;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Configuração do {@link LoadAwareLoadBalancer} para os serviços que chamam o {@code servico-usuarios}.
+ * <p>
+ * Não é anotada com {@code @Configuration} de propósito: deve ser aplicada apenas ao cliente do
+ * {@code servico-usuarios}, no contexto filho do Spring Cloud LoadBalancer:
+ * <pre>{@code
+ * @LoadBalancerClient(name = "servico-usuarios", configuration = LoadAwareLoadBalancerConfiguration.class)
+ * }</pre>
+ */
+public class LoadAwareLoadBalancerConfiguration {
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> loadAwareLoadBalancer(Environment environment,
+                                                                      LoadBalancerClientFactory loadBalancerClientFactory) {
+        String name = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new LoadAwareLoadBalancer(
+                loadBalancerClientFactory.getLazyProvider(name, ServiceInstanceListSupplier.class));
+    }
+}
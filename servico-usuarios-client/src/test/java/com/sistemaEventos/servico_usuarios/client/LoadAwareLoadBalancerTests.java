@@ -0,0 +1,91 @@
+package com.sistemaEventos.servico_usuarios.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoadAwareLoadBalancerTests {
+    private static final int CHOICES = 1000;
+
+    @Test
+    void lessLoadedOfTwoInstancesIsAlwaysChosen() {
+        ServiceInstance busy = instance("a", "5.0");
+        ServiceInstance idle = instance("b", "1.5");
+
+        Map<String, Integer> chosen = choose(busy, idle);
+
+        assertEquals(Map.of("b", CHOICES), chosen);
+    }
+
+    @Test
+    void mostLoadedInstanceIsNeverChosenButTheOthersShareTheTraffic() {
+        Map<String, Integer> chosen = choose(instance("a", "1.0"), instance("b", "50.0"), instance("c", "1.0"));
+
+        assertFalse(chosen.containsKey("b"));
+        // Empate: o sorteio divide o tráfego em vez de mandar tudo para a mesma instância
+        assertTrue(chosen.get("a") > CHOICES / 4);
+        assertTrue(chosen.get("c") > CHOICES / 4);
+    }
+
+    @Test
+    void instanceWithoutMetadataCountsAsIdle() {
+        assertEquals(0, LoadAwareLoadBalancer.score(instance("a", null)));
+        assertEquals(0, LoadAwareLoadBalancer.score(instance("a", "invalido")));
+        assertEquals(2.5, LoadAwareLoadBalancer.score(instance("a", "2.5")));
+
+        assertEquals(Map.of("antiga", CHOICES), choose(instance("antiga", null), instance("nova", "3.0")));
+        assertEquals(Map.of("invalida", CHOICES), choose(instance("invalida", "x"), instance("nova", "3.0")));
+    }
+
+    @Test
+    void withoutMetadataTheChoiceIsRandom() {
+        Map<String, Integer> chosen = choose(instance("a", null), instance("b", null), instance("c", null));
+
+        assertEquals(3, chosen.size());
+        chosen.values().forEach(count -> assertTrue(count > CHOICES / 6));
+    }
+
+    @Test
+    void singleInstanceAndEmptyList() {
+        assertEquals(Map.of("a", CHOICES), choose(instance("a", "99.0")));
+
+        Response<ServiceInstance> response = balancer().choose(new DefaultRequest<>()).block();
+        assertNotNull(response);
+        assertFalse(response.hasServer());
+    }
+
+    private static Map<String, Integer> choose(ServiceInstance... instances) {
+        LoadAwareLoadBalancer balancer = balancer(instances);
+        Map<String, Integer> chosen = new HashMap<>();
+        for (int i = 0; i < CHOICES; i++) {
+            Response<ServiceInstance> response = balancer.choose(new DefaultRequest<>()).block();
+            assertTrue(response.hasServer());
+            chosen.merge(response.getServer().getInstanceId(), 1, Integer::sum);
+        }
+        return chosen;
+    }
+
+    private static LoadAwareLoadBalancer balancer(ServiceInstance... instances) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("supplier", ServiceInstanceListSuppliers.from("servico-usuarios", instances));
+        return new LoadAwareLoadBalancer(beanFactory.getBeanProvider(ServiceInstanceListSupplier.class));
+    }
+
+    private static ServiceInstance instance(String id, String score) {
+        Map<String, String> metadata = score == null ? Map.of() : Map.of(LoadAwareLoadBalancer.SCORE_KEY, score);
+        return new DefaultServiceInstance(id, "servico-usuarios", id + ".local", 8080, false, metadata);
+    }
+}
@@ -0,0 +1,60 @@
+package com.sistemaEventos.servico_usuarios.benchmark;
+
+import com.sistemaEventos.servico_usuarios.security.AuthorizationHelper;
+import com.sistemaEventos.servico_usuarios.security.RequesterPrincipal;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede as verificações de autorização executadas em todas as rotas de {@code /users}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthorizationHelperBenchmark {
+    private final AuthorizationHelper authorizationHelper = new AuthorizationHelper();
+    private String adminRoles;
+    private String userRoles;
+    private String ownerId;
+    private String requesterId;
+    private RequesterPrincipal admin;
+    private RequesterPrincipal user;
+
+    @Setup
+    public void setUp() {
+        adminRoles = new String("ROLE_USER,ROLE_ADMIN");
+        userRoles = new String("ROLE_USER");
+        ownerId = new String("5f0c6a0e-2b1f-4f55-9a3c-1d2e3f4a5b6c");
+        // Instância diferente com o mesmo conteúdo, como acontece com o header da requisição
+        requesterId = new String(ownerId);
+        admin = RequesterPrincipal.of(requesterId, adminRoles);
+        user = RequesterPrincipal.of(requesterId, userRoles);
+    }
+
+    /**
+     * Leitura dos headers, feita uma vez por requisição.
+     */
+    @Benchmark
+    public RequesterPrincipal parsePrincipal() {
+        return RequesterPrincipal.of(requesterId, adminRoles);
+    }
+
+    @Benchmark
+    public void checkIsAdmin() {
+        authorizationHelper.checkIsAdmin(admin);
+    }
+
+    @Benchmark
+    public void checkOwnershipAsAdmin() {
+        authorizationHelper.checkOwnershipOrAdmin(ownerId, admin);
+    }
+
+    @Benchmark
+    public void checkOwnershipAsOwner() {
+        authorizationHelper.checkOwnershipOrAdmin(ownerId, user);
+    }
+}
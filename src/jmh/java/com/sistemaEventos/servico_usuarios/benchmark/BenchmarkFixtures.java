@@ -0,0 +1,45 @@
+package com.sistemaEventos.servico_usuarios.benchmark;
+
+import com.sistemaEventos.servico_usuarios.model.CPF;
+import com.sistemaEventos.servico_usuarios.model.Role;
+import com.sistemaEventos.servico_usuarios.model.User;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Dados de apoio compartilhados pelos benchmarks.
+ */
+final class BenchmarkFixtures {
+    static final String VALID_CPF = "52998224725";
+    static final String INVALID_CPF = "52998224700";
+
+    private BenchmarkFixtures() {}
+
+    static Role role(int id, String name) {
+        Role role = new Role();
+        role.setId(id);
+        role.setName(name);
+        return role;
+    }
+
+    /**
+     * Cria um usuário completo, como os retornados pelo repositório.
+     */
+    static User user() {
+        User user = new User();
+        user.setId(UUID.randomUUID().toString());
+        user.setCpf(new CPF(VALID_CPF));
+        user.setFullname("Maria da Silva Pereira");
+        user.setEmail("maria.silva@example.com");
+        user.setPassword("$2a$12$abcdefghijklmnopqrstuuTqGzj1e9oZ7lYg3bW5kE0m6y8pQ2Cxy");
+        user.setBirthDate(LocalDate.of(1990, 5, 17));
+        user.setComplete(true);
+        user.setCreatedAt(Instant.parse("2025-01-10T12:00:00Z"));
+        user.setUpdatedAt(Instant.parse("2025-02-01T08:30:00Z"));
+        user.setRoles(Set.of(role(1, "ROLE_USER"), role(2, "ROLE_ADMIN")));
+        return user;
+    }
+}
@@ -0,0 +1,57 @@
+package com.sistemaEventos.servico_usuarios.benchmark;
+
+import com.sistemaEventos.servico_usuarios.exception.CpfInvalidException;
+import com.sistemaEventos.servico_usuarios.model.CPF;
+import com.sistemaEventos.servico_usuarios.model.converter.CpfConverter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede a criação/validação do Objeto de Valor {@link CPF} e o {@link CpfConverter} do JPA,
+ * executados em toda leitura e escrita de usuário.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CpfBenchmark {
+    private final CpfConverter converter = new CpfConverter();
+    private String validCpf;
+    private String invalidCpf;
+    private CPF cpf;
+
+    @Setup
+    public void setUp() {
+        // Cópias novas evitam que o JIT trate as strings como constantes
+        validCpf = new String(BenchmarkFixtures.VALID_CPF);
+        invalidCpf = new String(BenchmarkFixtures.INVALID_CPF);
+        cpf = new CPF(validCpf);
+    }
+
+    @Benchmark
+    public CPF createValidCpf() {
+        return new CPF(validCpf);
+    }
+
+    @Benchmark
+    public Object createInvalidCpf() {
+        try {
+            return new CPF(invalidCpf);
+        } catch (CpfInvalidException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public String convertToDatabaseColumn() {
+        return converter.convertToDatabaseColumn(cpf);
+    }
+
+    @Benchmark
+    public CPF convertToEntityAttribute() {
+        return converter.convertToEntityAttribute(validCpf);
+    }
+}
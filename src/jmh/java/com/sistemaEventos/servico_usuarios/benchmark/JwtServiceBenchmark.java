@@ -0,0 +1,39 @@
+package com.sistemaEventos.servico_usuarios.benchmark;
+
+import com.sistemaEventos.servico_usuarios.config.JwtService;
+import com.sistemaEventos.servico_usuarios.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.KeyPairGenerator;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede a geração e assinatura RS256 do token em {@link JwtService#gerarToken(User)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+    private JwtService jwtService;
+    private User user;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        String privateKey = Base64.getEncoder().encodeToString(generator.generateKeyPair().getPrivate().getEncoded());
+
+        jwtService = new JwtService(privateKey, 3_600_000, new SimpleMeterRegistry());
+        user = BenchmarkFixtures.user();
+    }
+
+    @Benchmark
+    public String gerarToken() {
+        return jwtService.gerarToken(user);
+    }
+}
@@ -0,0 +1,40 @@
+package com.sistemaEventos.servico_usuarios.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o custo do BCrypt em diferentes "strengths". O serviço usa 12
+ * ({@code SecurityConfiguration}); os demais valores ajudam a avaliar o impacto de mudá-lo.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordEncoderBenchmark {
+    @Param({"10", "11", "12", "13"})
+    public int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private String encodedPassword;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        encodedPassword = encoder.encode("senha-de-teste-123");
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode("senha-de-teste-123");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("senha-de-teste-123", encodedPassword);
+    }
+}
@@ -0,0 +1,65 @@
+package com.sistemaEventos.servico_usuarios.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sistemaEventos.servico_usuarios.dto.UserResponseDTO;
+import com.sistemaEventos.servico_usuarios.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede a montagem do {@link UserResponseDTO} e sua serialização pelo Jackson,
+ * isoladamente e em uma lista como a de {@code GET /users}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserResponseBenchmark {
+    @Param({"1000"})
+    public int listSize;
+
+    private ObjectMapper objectMapper;
+    private User user;
+    private UserResponseDTO response;
+    private List<User> users;
+
+    @Setup
+    public void setUp() {
+        // Mesma configuração de datas usada pelo Spring Boot
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        user = BenchmarkFixtures.user();
+        response = new UserResponseDTO(user);
+        users = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            users.add(BenchmarkFixtures.user());
+        }
+    }
+
+    @Benchmark
+    public UserResponseDTO buildDto() {
+        return new UserResponseDTO(user);
+    }
+
+    @Benchmark
+    public byte[] serializeDto() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] buildAndSerializeList() throws Exception {
+        List<UserResponseDTO> list = new ArrayList<>(users.size());
+        for (User u : users) {
+            list.add(new UserResponseDTO(u));
+        }
+        return objectMapper.writeValueAsBytes(list);
+    }
+}
@@ -1,17 +1,26 @@
 package com.sistemaEventos.servico_usuarios;
 
+import com.sistemaEventos.servico_usuarios.config.NativeRuntimeHints;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.ManagementWebSecurityAutoConfiguration;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
 import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.context.annotation.PropertySource;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(exclude = {
 		SecurityAutoConfiguration.class,
-		UserDetailsServiceAutoConfiguration.class
+		UserDetailsServiceAutoConfiguration.class,
+		ManagementWebSecurityAutoConfiguration.class // A autenticação é feita no API Gateway
 })
 @EnableDiscoveryClient // Para se registrar no Eureka Server
+@PropertySource("classpath:servico-usuarios-defaults.properties") // Valores padrão (menor precedência)
+@EnableScheduling // Entrega do feed e do outbox de eventos de usuário
+@ImportRuntimeHints(NativeRuntimeHints.class) // Reflexão e recursos da imagem nativa (profile "native")
 public class ServicoUsuariosApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(ServicoUsuariosApplication.class, args);
@@ -0,0 +1,208 @@
+package com.sistemaEventos.servico_usuarios.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Configuração do pool de conexões (HikariCP) e do driver JDBC do PostgreSQL.
+ * <p>
+ * Substitui o {@code DataSource} padrão do Spring Boot por um {@link HikariDataSource}
+ * com valores ajustados para este serviço. Todos os valores calculados aqui são apenas
+ * padrões: qualquer propriedade {@code spring.datasource.hikari.*} definida na
+ * configuração externa é aplicada depois e prevalece.
+ * <p>
+ * Propriedades ajustáveis:
+ * <ul>
+ *     <li>{@code servico-usuarios.datasource.pool-size} (padrão {@code 0} = automático):
+ *     tamanho fixo do pool. No modo automático usa a fórmula do HikariCP
+ *     ({@code núcleos * 2 + 1}), limitada pela carga esperada.</li>
+ *     <li>{@code servico-usuarios.datasource.expected-concurrency} (padrão {@code 0} = sem limite):
+ *     número esperado de requisições simultâneas que acessam o banco. Não adianta ter mais
+ *     conexões do que requisições concorrentes.</li>
+ *     <li>{@code servico-usuarios.datasource.leak-detection-threshold-ms} (padrão {@code 10000}):
+ *     tempo máximo que uma conexão pode ficar emprestada antes de gerar um alerta de vazamento.</li>
+ *     <li>{@code servico-usuarios.datasource.prepared-statement-cache-queries} (padrão {@code 256}):
+ *     quantidade de comandos preparados mantidos em cache por conexão pelo driver.</li>
+ * </ul>
+ * <p>
+ * Quando {@code servico-usuarios.datasource.replica.url} é definida, um segundo pool
+ * aponta para a réplica de leitura e as transações {@code @Transactional(readOnly = true)}
+ * são roteadas para ela (ver {@link ReplicaRoutingDataSource}).
+ * <p>
+ * As métricas do pool (conexões ativas, ociosas, threads aguardando e tempo de espera)
+ * são publicadas pelo Actuator como {@code hikaricp.connections.*}, permitindo comparar
+ * o tempo de espera por conexão com o tempo gasto no BCrypt.
+ */
+@Configuration
+public class DataSourceConfiguration {
+    private static final String POOL_NAME = "servico-usuarios-primary";
+    private static final String REPLICA_POOL_NAME = "servico-usuarios-replica";
+
+    @Value("${servico-usuarios.datasource.pool-size:0}")
+    private int poolSize;
+    @Value("${servico-usuarios.datasource.expected-concurrency:0}")
+    private int expectedConcurrency;
+    @Value("${servico-usuarios.datasource.leak-detection-threshold-ms:10000}")
+    private long leakDetectionThresholdMs;
+    @Value("${servico-usuarios.datasource.prepared-statement-cache-queries:256}")
+    private int preparedStatementCacheQueries;
+
+    /**
+     * Cria o pool de conexões do banco principal.
+     * <p>
+     * A anotação {@link ConfigurationProperties} faz com que as propriedades
+     * {@code spring.datasource.hikari.*} sejam aplicadas após este método,
+     * sobrescrevendo os padrões definidos aqui.
+     *
+     * @param properties As propriedades {@code spring.datasource.*} (url, usuário, senha).
+     * @return O {@link HikariDataSource} configurado.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+
+        applyPoolDefaults(dataSource, POOL_NAME, properties.determineUrl());
+        return dataSource;
+    }
+
+    /**
+     * Cria o pool de conexões da réplica de leitura, apenas quando
+     * {@code servico-usuarios.datasource.replica.url} estiver definida.
+     * <p>
+     * Usuário e senha são herdados do banco principal, a menos que
+     * {@code servico-usuarios.datasource.replica.username/password} sejam informados.
+     * Ajustes finos do pool ficam em {@code servico-usuarios.datasource.replica.hikari.*}.
+     *
+     * @param properties As propriedades {@code spring.datasource.*} do banco principal.
+     * @param url A URL JDBC da réplica.
+     * @param username O usuário da réplica (opcional).
+     * @param password A senha da réplica (opcional).
+     * @return O {@link HikariDataSource} da réplica.
+     */
+    @Bean
+    @ConditionalOnProperty("servico-usuarios.datasource.replica.url")
+    @ConfigurationProperties("servico-usuarios.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${servico-usuarios.datasource.replica.url}") String url,
+            @Value("${servico-usuarios.datasource.replica.username:}") String username,
+            @Value("${servico-usuarios.datasource.replica.password:}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username.isEmpty() ? properties.determineUsername() : username)
+                .password(password.isEmpty() ? properties.determinePassword() : password)
+                .build();
+
+        applyPoolDefaults(dataSource, REPLICA_POOL_NAME, url);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * O {@code DataSource} usado pelo JPA.
+     * <p>
+     * Sem réplica configurada, é o próprio pool principal. Com réplica, é um
+     * {@link ReplicaRoutingDataSource} envolvido por um {@link LazyConnectionDataSourceProxy},
+     * que envia as transações somente leitura à réplica.
+     * <p>
+     * Em ambos os casos, o resultado é envolvido por um {@link DeadlineAwareDataSource}, que
+     * limita cada comando SQL ao prazo restante da requisição.
+     *
+     * @param primary O pool do banco principal.
+     * @param replica O pool da réplica, se existir.
+     * @return O {@code DataSource} principal da aplicação.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primary,
+            @Qualifier("replicaDataSource") ObjectProvider<HikariDataSource> replica) {
+        HikariDataSource replicaDataSource = replica.getIfAvailable();
+        if (replicaDataSource == null) {
+            return new DeadlineAwareDataSource(primary);
+        }
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource();
+        routing.setTargetDataSources(Map.<Object, Object>of(
+                ReplicaRoutingDataSource.Route.PRIMARY, primary,
+                ReplicaRoutingDataSource.Route.REPLICA, replicaDataSource
+        ));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+
+        return new DeadlineAwareDataSource(new LazyConnectionDataSourceProxy(routing));
+    }
+
+    /**
+     * Aplica os padrões de dimensionamento, detecção de vazamento e driver a um pool.
+     *
+     * @param dataSource O pool a ser configurado.
+     * @param poolName O nome do pool (aparece nas métricas).
+     * @param url A URL JDBC do pool.
+     */
+    private void applyPoolDefaults(HikariDataSource dataSource, String poolName, String url) {
+        int size = resolvePoolSize();
+        dataSource.setPoolName(poolName);
+        dataSource.setMaximumPoolSize(size);
+        // Pool de tamanho fixo: evita criar conexões justamente nos picos de carga
+        dataSource.setMinimumIdle(size);
+        dataSource.setConnectionTimeout(3000);
+        dataSource.setLeakDetectionThreshold(leakDetectionThresholdMs);
+
+        if (url != null && url.startsWith("jdbc:postgresql:")) {
+            applyPostgresDriverProperties(dataSource);
+        }
+    }
+
+    /**
+     * Calcula o tamanho do pool a partir dos núcleos disponíveis e da carga esperada.
+     *
+     * @return O tamanho máximo do pool.
+     */
+    int resolvePoolSize() {
+        if (poolSize > 0) {
+            return poolSize;
+        }
+
+        int size = Runtime.getRuntime().availableProcessors() * 2 + 1;
+        if (expectedConcurrency > 0) {
+            size = Math.min(size, expectedConcurrency);
+        }
+
+        return Math.max(size, 2);
+    }
+
+    /**
+     * Aplica as propriedades de desempenho do driver JDBC do PostgreSQL.
+     *
+     * @param dataSource O pool que receberá as propriedades.
+     */
+    private void applyPostgresDriverProperties(HikariDataSource dataSource) {
+        // Usa comandos preparados no servidor a partir da 3ª execução e os mantém em cache
+        dataSource.addDataSourceProperty("prepareThreshold", "3");
+        dataSource.addDataSourceProperty("preparedStatementCacheQueries", String.valueOf(preparedStatementCacheQueries));
+        dataSource.addDataSourceProperty("preparedStatementCacheSizeMiB", "5");
+        // Reescreve lotes de INSERT em um único INSERT com múltiplos VALUES
+        dataSource.addDataSourceProperty("reWriteBatchedInserts", "true");
+        // Transações somente leitura viram "BEGIN READ ONLY", permitindo rotear para réplicas
+        dataSource.addDataSourceProperty("readOnlyMode", "transaction");
+        dataSource.addDataSourceProperty("ApplicationName", "servico-usuarios");
+    }
+}
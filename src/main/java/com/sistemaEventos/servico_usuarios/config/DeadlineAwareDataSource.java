@@ -0,0 +1,86 @@
+package com.sistemaEventos.servico_usuarios.config;
+
+import com.sistemaEventos.servico_usuarios.exception.DeadlineExceededException;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * {@code DataSource} que aplica o prazo da requisição ({@link RequestDeadline}) como timeout de
+ * cada comando SQL.
+ * <p>
+ * Todo {@link Statement} criado pelas conexões recebe {@link Statement#setQueryTimeout} com o
+ * tempo restante (arredondado para cima, em segundos, a granularidade do JDBC); o driver cancela
+ * o comando no banco quando o prazo termina. Se o prazo já tiver terminado, o comando nem é
+ * preparado. Sem prazo definido, os comandos não são alterados.
+ */
+public class DeadlineAwareDataSource extends DelegatingDataSource {
+    public DeadlineAwareDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection target) {
+        return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                new Class<?>[] {ConnectionProxy.class},
+                (proxy, method, args) -> invoke(target, proxy, method, args));
+    }
+
+    private Object invoke(Connection target, Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "getTargetConnection":
+                return target;
+            case "createStatement", "prepareStatement", "prepareCall":
+                RequestDeadline.check("query");
+                break;
+            default:
+                break;
+        }
+
+        Object result;
+        try {
+            result = method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+
+        if (result instanceof Statement statement) {
+            applyTimeout(statement);
+        }
+        return result;
+    }
+
+    private void applyTimeout(Statement statement) throws SQLException {
+        Duration remaining = RequestDeadline.remaining();
+        if (remaining == null) {
+            return;
+        }
+        if (!remaining.isPositive()) {
+            throw new DeadlineExceededException("query");
+        }
+        // Arredonda para cima: um timeout de 0 significaria "sem limite"
+        long seconds = Math.max(1, (remaining.toMillis() + 999) / 1000);
+        statement.setQueryTimeout((int) Math.min(seconds, Integer.MAX_VALUE));
+    }
+}
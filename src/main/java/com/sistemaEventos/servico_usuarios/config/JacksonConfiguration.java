@@ -0,0 +1,33 @@
+package com.sistemaEventos.servico_usuarios.config;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.NativeDetector;
+
+/**
+ * Ajustes do {@code ObjectMapper} usado nas respostas HTTP.
+ * <p>
+ * Os módulos são registrados pelo customizador do builder do Spring Boot.
+ */
+@Configuration
+public class JacksonConfiguration {
+    /**
+     * Substitui a reflexão usada pelo Jackson para ler getters/campos e chamar
+     * construtores por {@code LambdaMetafactory}, reduzindo o custo de CPU da
+     * serialização dos DTOs.
+     * <p>
+     * Na imagem nativa do GraalVM não é possível gerar classes em tempo de execução; lá o
+     * módulo não é registrado e o Jackson usa a reflexão (com as hints de {@link NativeRuntimeHints}).
+     * A verificação é feita em tempo de execução, pois as condições dos beans são fixadas no build AOT.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer blackbirdModuleCustomizer() {
+        return builder -> {
+            if (!NativeDetector.inNativeImage()) {
+                builder.postConfigurer(objectMapper -> objectMapper.registerModule(new BlackbirdModule()));
+            }
+        };
+    }
+}
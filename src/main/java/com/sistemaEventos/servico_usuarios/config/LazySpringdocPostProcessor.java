@@ -0,0 +1,47 @@
+package com.sistemaEventos.servico_usuarios.config;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.type.MethodMetadata;
+import org.springframework.stereotype.Component;
+
+/**
+ * Marca como lazy os beans do springdoc-openapi (documentação e Swagger UI).
+ * <p>
+ * A documentação só é usada por desenvolvedores e nunca no caminho das requisições de negócio,
+ * mas seus beans (scanners de controladores, conversores de modelos e recursos da UI) somam
+ * tempo ao início da aplicação. Com a inicialização lazy, eles são criados apenas no primeiro
+ * acesso a {@code /v3/api-docs} ou {@code /swagger-ui}; os controladores do springdoc continuam
+ * mapeados, pois o Spring MVC registra as rotas pelo tipo do bean, sem instanciá-lo.
+ */
+@Component
+public class LazySpringdocPostProcessor implements BeanFactoryPostProcessor {
+    private static final String SPRINGDOC_PACKAGE = "org.springdoc.";
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+            if (isSpringdocBean(definition)) {
+                definition.setLazyInit(true);
+            }
+        }
+    }
+
+    private boolean isSpringdocBean(BeanDefinition definition) {
+        String className = definition.getBeanClassName();
+        if (className != null && className.startsWith(SPRINGDOC_PACKAGE)) {
+            return true;
+        }
+
+        // Beans declarados por métodos @Bean das auto-configurações do springdoc
+        if (definition instanceof AnnotatedBeanDefinition annotated) {
+            MethodMetadata factoryMethod = annotated.getFactoryMethodMetadata();
+            return factoryMethod != null && factoryMethod.getDeclaringClassName().startsWith(SPRINGDOC_PACKAGE);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,103 @@
+package com.sistemaEventos.servico_usuarios.config;
+
+import com.sistemaEventos.servico_usuarios.dto.ResetPasswordDTO;
+import com.sistemaEventos.servico_usuarios.dto.SendRecoveryCodeDTO;
+import com.sistemaEventos.servico_usuarios.dto.UserBatchLookupDTO;
+import com.sistemaEventos.servico_usuarios.dto.UserChangeDTO;
+import com.sistemaEventos.servico_usuarios.dto.UserChangesPageDTO;
+import com.sistemaEventos.servico_usuarios.dto.UserCreateDTO;
+import com.sistemaEventos.servico_usuarios.dto.UserEventDTO;
+import com.sistemaEventos.servico_usuarios.dto.UserEventPageDTO;
+import com.sistemaEventos.servico_usuarios.dto.UserLeanResponseDTO;
+import com.sistemaEventos.servico_usuarios.dto.UserLoginDTO;
+import com.sistemaEventos.servico_usuarios.dto.UserResponseDTO;
+import com.sistemaEventos.servico_usuarios.dto.UserSearchPageDTO;
+import com.sistemaEventos.servico_usuarios.dto.UserSyncDTO;
+import com.sistemaEventos.servico_usuarios.dto.UserUpdateDTO;
+import com.sistemaEventos.servico_usuarios.dto.VerifyRecoveryCodeDTO;
+import com.sistemaEventos.servico_usuarios.exception.ApiErrorResponse;
+import com.sistemaEventos.servico_usuarios.model.CPF;
+import com.sistemaEventos.servico_usuarios.model.Role;
+import com.sistemaEventos.servico_usuarios.model.User;
+import com.sistemaEventos.servico_usuarios.model.UserEvent;
+import com.sistemaEventos.servico_usuarios.model.converter.CpfConverter;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+import java.util.List;
+
+/**
+ * Metadados de alcançabilidade (reflexão e recursos) para a imagem nativa do GraalVM
+ * ({@code mvn -Pnative package}).
+ * <p>
+ * O processamento AOT do Spring já registra boa parte das hints (beans, repositórios,
+ * entidades encontradas pelo JPA e corpos dos controladores). Aqui ficam os casos que ele
+ * não enxerga:
+ * <ul>
+ *     <li>entidades e o conversor do CPF, instanciados pelo Hibernate por reflexão;</li>
+ *     <li>DTOs serializados pelo Jackson fora dos controladores (outbox, SSE, idempotência);</li>
+ *     <li>as implementações do jjwt, carregadas pelo nome da classe e por {@code ServiceLoader};</li>
+ *     <li>o proxy JDK das conexões criado pelo {@link DeadlineAwareDataSource}.</li>
+ * </ul>
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+    private static final List<Class<?>> ENTITIES = List.of(User.class, Role.class, UserEvent.class, CPF.class);
+
+    private static final List<Class<?>> JSON_TYPES = List.of(
+            UserResponseDTO.class, UserLeanResponseDTO.class, UserChangeDTO.class, UserChangesPageDTO.class,
+            UserEventDTO.class, UserEventPageDTO.class, UserSearchPageDTO.class, ApiErrorResponse.class,
+            UserCreateDTO.class, UserSyncDTO.class, UserUpdateDTO.class, UserLoginDTO.class,
+            UserBatchLookupDTO.class, ResetPasswordDTO.class, SendRecoveryCodeDTO.class, VerifyRecoveryCodeDTO.class
+    );
+
+    /**
+     * Classes do jjwt-impl/jjwt-jackson instanciadas por reflexão a partir da API ({@code Jwts}, {@code Keys}).
+     */
+    private static final List<String> JJWT_TYPES = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+            "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+            "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyOperations",
+            "io.jsonwebtoken.impl.security.DefaultDynamicJwkBuilder",
+            "io.jsonwebtoken.impl.security.KeysBridge",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+    );
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> entity : ENTITIES) {
+            hints.reflection().registerType(entity,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+        }
+        hints.reflection().registerType(CpfConverter.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+
+        bindingRegistrar.registerReflectionHints(hints.reflection(), JSON_TYPES.toArray(Class<?>[]::new));
+
+        for (String type : JJWT_TYPES) {
+            hints.reflection().registerType(TypeReference.of(type),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+        hints.proxies().registerJdkProxy(ConnectionProxy.class);
+
+        hints.resources().registerPattern("servico-usuarios-defaults.properties");
+    }
+}
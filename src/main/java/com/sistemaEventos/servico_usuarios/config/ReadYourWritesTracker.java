@@ -0,0 +1,58 @@
+package com.sistemaEventos.servico_usuarios.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registra os usuários alterados recentemente para garantir "read-your-writes".
+ * <p>
+ * A réplica de leitura pode estar alguns instantes atrás do banco principal. Depois de uma
+ * alteração, as leituras do mesmo usuário são enviadas ao banco principal durante a janela
+ * configurada em {@code servico-usuarios.datasource.replica.read-your-writes-window-ms}
+ * (padrão {@code 5000}), evitando que o cliente veja o dado antigo logo após salvá-lo.
+ */
+@Component
+public class ReadYourWritesTracker {
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final Map<String, Long> recentWrites = new ConcurrentHashMap<>();
+    private final long windowNanos;
+
+    public ReadYourWritesTracker(@Value("${servico-usuarios.datasource.replica.read-your-writes-window-ms:5000}") long windowMs) {
+        this.windowNanos = windowMs * 1_000_000L;
+    }
+
+    /**
+     * Registra que o usuário acabou de ser alterado.
+     *
+     * @param userId O ID (UUID) do usuário alterado.
+     */
+    public void markWritten(String userId) {
+        long now = System.nanoTime();
+        if (recentWrites.size() > PRUNE_THRESHOLD) {
+            recentWrites.values().removeIf(until -> until - now < 0);
+        }
+        recentWrites.put(userId, now + windowNanos);
+    }
+
+    /**
+     * Verifica se o usuário foi alterado dentro da janela de "read-your-writes".
+     *
+     * @param userId O ID (UUID) do usuário.
+     * @return {@code true} se as leituras desse usuário devem ir ao banco principal.
+     */
+    public boolean isRecentlyWritten(String userId) {
+        Long until = recentWrites.get(userId);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() < 0) {
+            recentWrites.remove(userId, until);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,56 @@
+package com.sistemaEventos.servico_usuarios.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * {@code DataSource} que roteia as conexões entre o banco principal e a réplica de leitura.
+ * <p>
+ * Transações marcadas com {@code @Transactional(readOnly = true)} são enviadas à réplica;
+ * todo o resto (escritas e código fora de transação) vai para o banco principal.
+ * <p>
+ * Deve ser sempre envolvido por um {@code LazyConnectionDataSourceProxy}: o Spring só marca
+ * a transação como somente leitura depois de abri-la, então a conexão real precisa ser
+ * obtida apenas no primeiro comando SQL, quando a decisão de rota já é possível.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    /**
+     * As rotas possíveis de uma conexão.
+     */
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    /**
+     * Marca a thread atual para usar o banco principal mesmo em transações somente leitura.
+     */
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = ThreadLocal.withInitial(() -> false);
+
+    /**
+     * Executa a operação forçando o uso do banco principal (garantia de "read-your-writes").
+     *
+     * @param operation A operação a ser executada.
+     * @param <T> O tipo de retorno da operação.
+     * @return O resultado da operação.
+     */
+    public static <T> T callOnPrimary(Supplier<T> operation) {
+        boolean previous = FORCE_PRIMARY.get();
+        FORCE_PRIMARY.set(true);
+        try {
+            return operation.get();
+        } finally {
+            FORCE_PRIMARY.set(previous);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !FORCE_PRIMARY.get()) {
+            return Route.REPLICA;
+        }
+        return Route.PRIMARY;
+    }
+}
@@ -0,0 +1,102 @@
+package com.sistemaEventos.servico_usuarios.config;
+
+import com.sistemaEventos.servico_usuarios.exception.DeadlineExceededException;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Prazo (deadline) da requisição em andamento na thread atual.
+ * <p>
+ * Definido por {@link com.sistemaEventos.servico_usuarios.web.RequestDeadlineFilter} a partir dos
+ * headers do API Gateway. Quando o gateway desiste da requisição, continuar o trabalho só
+ * consome CPU e conexões justamente nos momentos de sobrecarga; por isso:
+ * <ul>
+ *     <li>os serviços chamam {@link #check} antes das etapas caras (BCrypt);</li>
+ *     <li>cada comando SQL recebe como timeout o tempo restante ({@link DeadlineAwareDataSource}).</li>
+ * </ul>
+ * Sem prazo definido (ex: tarefas agendadas, consumidores de eventos), nada é limitado.
+ */
+public final class RequestDeadline {
+    private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+
+    /**
+     * Maior prazo representável (~73 anos). Mantém a diferença para {@link System#nanoTime()}
+     * longe do limite do {@code long}: a soma pode "dar a volta", mas as comparações por
+     * diferença continuam corretas.
+     */
+    private static final Duration MAX_TIMEOUT = Duration.ofNanos(Long.MAX_VALUE / 4);
+
+    private RequestDeadline() {}
+
+    /**
+     * Define o prazo da requisição atual.
+     *
+     * @param timeout O tempo restante a partir de agora (valores fora de ±{@link #MAX_TIMEOUT}
+     *                são limitados a ele).
+     */
+    public static void set(Duration timeout) {
+        long nanos;
+        if (timeout.compareTo(MAX_TIMEOUT) > 0) {
+            nanos = MAX_TIMEOUT.toNanos();
+        } else if (timeout.compareTo(MAX_TIMEOUT.negated()) < 0) {
+            nanos = -MAX_TIMEOUT.toNanos();
+        } else {
+            nanos = timeout.toNanos();
+        }
+        DEADLINE_NANOS.set(System.nanoTime() + nanos);
+    }
+
+    /**
+     * Remove o prazo da thread atual (ao fim da requisição).
+     */
+    public static void clear() {
+        DEADLINE_NANOS.remove();
+    }
+
+    /**
+     * Executa {@code task} sem prazo e restaura o prazo atual ao final.
+     * <p>
+     * Para trabalho compartilhado com outras requisições (ex: consultas agrupadas por
+     * {@code SingleFlight}): o prazo de quem iniciou o trabalho não deve abortá-lo para os demais.
+     */
+    public static <T> T withoutDeadline(Supplier<T> task) {
+        Long deadline = DEADLINE_NANOS.get();
+        DEADLINE_NANOS.remove();
+        try {
+            return task.get();
+        } finally {
+            if (deadline != null) {
+                DEADLINE_NANOS.set(deadline);
+            }
+        }
+    }
+
+    /**
+     * @return O tempo restante, ou {@code null} se a requisição não tiver prazo.
+     */
+    public static Duration remaining() {
+        Long deadline = DEADLINE_NANOS.get();
+        return deadline == null ? null : Duration.ofNanos(deadline - System.nanoTime());
+    }
+
+    /**
+     * @return {@code true} se a requisição tiver prazo e ele já tiver terminado.
+     */
+    public static boolean isExpired() {
+        Duration remaining = remaining();
+        return remaining != null && !remaining.isPositive();
+    }
+
+    /**
+     * Interrompe a requisição se o prazo já tiver terminado.
+     *
+     * @param stage A etapa que seria executada (aparece na métrica de prazos excedidos).
+     * @throws DeadlineExceededException se o prazo tiver terminado.
+     */
+    public static void check(String stage) {
+        if (isExpired()) {
+            throw new DeadlineExceededException(stage);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.sistemaEventos.servico_usuarios.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Decorador de {@link PasswordEncoder} que mede o tempo de cada operação de hash.
+ * <p>
+ * O BCrypt é a operação mais cara do serviço (CPU). Os timers
+ * {@code users.password.encode} e {@code users.password.matches} permitem
+ * compará-lo com o tempo de espera por conexões do pool ({@code hikaricp.connections.acquire}).
+ * O gauge {@code users.password.active} indica quantas operações estão em andamento
+ * (executando ou aguardando CPU), sinal de saturação publicado no Eureka.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+    private final PasswordEncoder delegate;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final AtomicInteger active = new AtomicInteger();
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.encodeTimer = Timer.builder("users.password.encode")
+                .description("Tempo para gerar o hash de uma senha")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("users.password.matches")
+                .description("Tempo para comparar uma senha com o hash armazenado")
+                .register(meterRegistry);
+        Gauge.builder("users.password.active", active, AtomicInteger::get)
+                .description("Operações de hash de senha em andamento")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return track(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return track(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T track(Timer timer, Supplier<T> operation) {
+        active.incrementAndGet();
+        try {
+            return timer.record(operation);
+        } finally {
+            active.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.sistemaEventos.servico_usuarios.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.List;
+
+/**
+ * Cria, no PostgreSQL, os índices da busca de usuários por nome e e-mail
+ * ({@code GET /users/search?q=}).
+ * <p>
+ * Esses índices usam recursos específicos do PostgreSQL (expressões, collation {@code "C"}
+ * e a extensão {@code pg_trgm}) que não podem ser declarados com {@code @Index} na entidade:
+ * <ul>
+ *     <li>B-tree em {@code (lower(x) COLLATE "C", id)}: buscas por prefixo ({@code LIKE 'ana%'}),
+ *     lidas em ordem e paginadas pela mesma expressão (ver
+ *     {@link com.sistemaEventos.servico_usuarios.repository.UserSearchRepository});</li>
+ *     <li>GIN com {@code gin_trgm_ops} em {@code (lower(x) COLLATE "C")}: buscas por trecho
+ *     ({@code LIKE '%silva%'}). A collation do índice precisa ser a mesma da consulta; com a
+ *     collation padrão, o PostgreSQL não usa o índice para o {@code LIKE} em {@code COLLATE "C"}.</li>
+ * </ul>
+ * Os índices são parciais (apenas usuários ativos) e criados com {@code CONCURRENTLY}, sem
+ * bloquear escritas, em segundo plano: a criação em uma tabela grande leva minutos e não atrasa
+ * a inicialização. Apenas uma instância cria os índices por vez (advisory lock); as demais
+ * seguem sem esperar. Um índice deixado inválido por uma criação interrompida
+ * ({@code pg_index.indisvalid = false}) é removido e criado de novo, já que o
+ * {@code IF NOT EXISTS} o consideraria pronto para sempre.
+ * <p>
+ * Se a extensão {@code pg_trgm} não puder ser instalada (falta de permissão), apenas os índices
+ * de prefixo são criados. Desative com {@code servico-usuarios.search.create-indexes=false}
+ * quando o schema for gerenciado por migrações.
+ */
+@Component
+public class UserSearchIndexInitializer {
+    private static final Logger log = LoggerFactory.getLogger(UserSearchIndexInitializer.class);
+
+    /**
+     * Chave do advisory lock que serializa a criação dos índices entre as instâncias.
+     */
+    private static final long LOCK_KEY = 0x7573657273L; // "users"
+
+    private static final List<SearchIndex> PREFIX_INDEXES = List.of(
+            new SearchIndex("idx_users_email_search",
+                    "ON users ((lower(email) COLLATE \"C\"), id) WHERE deleted_at IS NULL"),
+            new SearchIndex("idx_users_fullname_search",
+                    "ON users ((lower(fullname) COLLATE \"C\"), id) WHERE deleted_at IS NULL")
+    );
+
+    private static final List<SearchIndex> TRIGRAM_INDEXES = List.of(
+            new SearchIndex("idx_users_email_search_trgm",
+                    "ON users USING gin ((lower(email) COLLATE \"C\") gin_trgm_ops) WHERE deleted_at IS NULL"),
+            new SearchIndex("idx_users_fullname_search_trgm",
+                    "ON users USING gin ((lower(fullname) COLLATE \"C\") gin_trgm_ops) WHERE deleted_at IS NULL")
+    );
+
+    /**
+     * Índices de versões anteriores: os de prefixo em {@code text_pattern_ops} e os de trecho na
+     * collation padrão (nunca usados pelas consultas em {@code COLLATE "C"}).
+     */
+    private static final List<String> OBSOLETE_INDEXES = List.of(
+            "idx_users_email_prefix",
+            "idx_users_fullname_prefix",
+            "idx_users_email_trgm",
+            "idx_users_fullname_trgm"
+    );
+
+    private final DataSource dataSource;
+    private final boolean enabled;
+
+    public UserSearchIndexInitializer(DataSource dataSource,
+                                      @Value("${servico-usuarios.search.create-indexes:true}") boolean enabled) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Cria os índices em segundo plano, sem atrasar a inicialização do serviço.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        Thread.ofVirtual().name("user-search-indexes").start(() -> {
+            try {
+                createIndexes();
+            } catch (DataAccessException e) {
+                log.warn("Falha ao criar os índices de busca de usuários.", e);
+            }
+        });
+    }
+
+    private void createIndexes() {
+        if (!isPostgreSql()) {
+            return;
+        }
+
+        // Uma única conexão: o advisory lock pertence à sessão
+        new JdbcTemplate(dataSource).execute((ConnectionCallback<Void>) connection -> {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_lock(?)", Boolean.class, LOCK_KEY);
+            if (!Boolean.TRUE.equals(locked)) {
+                log.info("Índices de busca de usuários sendo criados por outra instância.");
+                return null;
+            }
+            try {
+                createAll(jdbcTemplate);
+            } finally {
+                jdbcTemplate.queryForObject("SELECT pg_advisory_unlock(?)", Boolean.class, LOCK_KEY);
+            }
+            return null;
+        });
+    }
+
+    private void createAll(JdbcTemplate jdbcTemplate) {
+        PREFIX_INDEXES.forEach(index -> create(jdbcTemplate, index));
+        OBSOLETE_INDEXES.forEach(name -> execute(jdbcTemplate, "DROP INDEX CONCURRENTLY IF EXISTS " + name));
+
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+        } catch (DataAccessException e) {
+            log.warn("Extensão pg_trgm indisponível; a busca por trecho não terá índice.", e);
+            return;
+        }
+        TRIGRAM_INDEXES.forEach(index -> create(jdbcTemplate, index));
+        log.info("Índices de busca de usuários prontos.");
+    }
+
+    private void create(JdbcTemplate jdbcTemplate, SearchIndex index) {
+        List<Boolean> valid = jdbcTemplate.queryForList(
+                "SELECT indisvalid FROM pg_index WHERE indexrelid = to_regclass(?)", Boolean.class, index.name());
+        if (valid.contains(Boolean.TRUE)) {
+            return;
+        }
+        if (!valid.isEmpty()) {
+            log.warn("Índice de busca {} inválido (criação interrompida); criando novamente.", index.name());
+            execute(jdbcTemplate, "DROP INDEX CONCURRENTLY IF EXISTS " + index.name());
+        }
+        execute(jdbcTemplate, "CREATE INDEX CONCURRENTLY IF NOT EXISTS " + index.name() + " " + index.definition());
+    }
+
+    private void execute(JdbcTemplate jdbcTemplate, String sql) {
+        try {
+            jdbcTemplate.execute(sql);
+        } catch (DataAccessException e) {
+            log.warn("Não foi possível executar o comando de índice de busca: {}", sql, e);
+        }
+    }
+
+    private boolean isPostgreSql() {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equals(product);
+        } catch (MetaDataAccessException e) {
+            log.warn("Não foi possível identificar o banco de dados; índices de busca não criados.", e);
+            return false;
+        }
+    }
+
+    private record SearchIndex(String name, String definition) {}
+}
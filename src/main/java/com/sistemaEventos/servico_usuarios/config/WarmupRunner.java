@@ -0,0 +1,231 @@
+package com.sistemaEventos.servico_usuarios.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo.InstanceStatus;
+import com.sistemaEventos.servico_usuarios.dto.UserCreateDTO;
+import com.sistemaEventos.servico_usuarios.dto.UserField;
+import com.sistemaEventos.servico_usuarios.dto.UserLeanResponseDTO;
+import com.sistemaEventos.servico_usuarios.dto.UserLoginDTO;
+import com.sistemaEventos.servico_usuarios.dto.UserResponseDTO;
+import com.sistemaEventos.servico_usuarios.model.CPF;
+import com.sistemaEventos.servico_usuarios.model.Role;
+import com.sistemaEventos.servico_usuarios.model.User;
+import com.sistemaEventos.servico_usuarios.repository.UserRepository;
+import com.sistemaEventos.servico_usuarios.service.UserLookupCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Aquece a instância antes de ela receber tráfego.
+ * <p>
+ * Logo após um scale-out, as primeiras requisições pagariam o custo de código ainda não
+ * compilado pelo JIT (BCrypt, assinatura RSA do JWT, serialização do Jackson) e das consultas
+ * ainda não compiladas pelo Hibernate. Antes do início do tráfego, este runner executa exercícios sintéticos, sem efeitos colaterais (nenhuma escrita
+ * no banco):
+ * <ul>
+ *     <li>hash e verificação BCrypt de uma senha descartável;</li>
+ *     <li>geração de tokens JWT para um usuário em memória;</li>
+ *     <li>serialização e leitura dos DTOs mais usados;</li>
+ *     <li>consultas de leitura do {@link UserRepository} com IDs inexistentes (poucas vezes: basta
+ *     uma execução para o Hibernate compilar cada consulta);</li>
+ *     <li>pré-carga do {@link UserLookupCache} com os usuários alterados mais recentemente.</li>
+ * </ul>
+ * Os pools de conexões não precisam de aquecimento: têm tamanho fixo ({@code minimum-idle} igual ao
+ * máximo) e o HikariCP já os preenche na inicialização.
+ * <p>
+ * Como os {@link ApplicationRunner} executam antes do {@code ApplicationReadyEvent}, o readiness
+ * probe ({@code /actuator/health/readiness}) só passa a {@code UP} ao fim do aquecimento. No
+ * Eureka, a instância é registrada como {@code STARTING} ({@code eureka.instance.initial-status})
+ * e muda para {@code UP} aqui, recebendo tráfego dos demais serviços só depois do aquecimento.
+ * <p>
+ * O aquecimento é limitado por {@code servico-usuarios.warmup.budget-ms} (padrão {@code 15000}):
+ * ao fim do prazo, os exercícios são interrompidos e a instância é liberada mesmo assim. Falhas
+ * são apenas registradas no log. Desative com {@code servico-usuarios.warmup.enabled=false}.
+ */
+@Component
+public class WarmupRunner implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+
+    private static final String PASSWORD = "aquecimento-123";
+    // CPF válido, usado apenas em memória e em consultas que não encontram ninguém
+    private static final CPF CPF = new CPF("52998224725");
+
+    private final PasswordEncoder passwordEncoder;
+    private final JwtService jwtService;
+    private final ObjectMapper objectMapper;
+    private final UserRepository userRepository;
+    private final UserLookupCache userLookupCache;
+    private final ObjectProvider<ApplicationInfoManager> applicationInfoManager;
+
+    private final boolean enabled;
+    private final Duration budget;
+    private final int iterations;
+    private final int queryIterations;
+    private final int passwordIterations;
+    private final int cachedUsers;
+
+    private volatile long deadline;
+
+    public WarmupRunner(PasswordEncoder passwordEncoder,
+                        JwtService jwtService,
+                        ObjectMapper objectMapper,
+                        UserRepository userRepository,
+                        UserLookupCache userLookupCache,
+                        ObjectProvider<ApplicationInfoManager> applicationInfoManager,
+                        @Value("${servico-usuarios.warmup.enabled:true}") boolean enabled,
+                        @Value("${servico-usuarios.warmup.budget-ms:15000}") long budgetMs,
+                        @Value("${servico-usuarios.warmup.iterations:500}") int iterations,
+                        @Value("${servico-usuarios.warmup.query-iterations:5}") int queryIterations,
+                        @Value("${servico-usuarios.warmup.password-iterations:4}") int passwordIterations,
+                        @Value("${servico-usuarios.warmup.cached-users:500}") int cachedUsers) {
+        this.passwordEncoder = passwordEncoder;
+        this.jwtService = jwtService;
+        this.objectMapper = objectMapper;
+        this.userRepository = userRepository;
+        this.userLookupCache = userLookupCache;
+        this.applicationInfoManager = applicationInfoManager;
+        this.enabled = enabled;
+        this.budget = Duration.ofMillis(budgetMs);
+        this.iterations = iterations;
+        this.queryIterations = queryIterations;
+        this.passwordIterations = passwordIterations;
+        this.cachedUsers = cachedUsers;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        try {
+            if (enabled) {
+                warmUp();
+            }
+        } finally {
+            applicationInfoManager.ifAvailable(manager -> manager.setInstanceStatus(InstanceStatus.UP));
+        }
+    }
+
+    private void warmUp() throws InterruptedException {
+        long start = System.nanoTime();
+        deadline = start + budget.toNanos();
+
+        Thread worker = Thread.ofVirtual().name("warmup").start(() -> {
+            step("consultas", this::runQueries);
+            step("cache", this::primeUserCache);
+            step("json", this::serializeDtos);
+            step("jwt", this::signTokens);
+            step("bcrypt", this::hashPasswords);
+        });
+
+        if (!worker.join(budget)) {
+            worker.interrupt();
+            log.warn("Aquecimento interrompido após o limite de {} ms.", budget.toMillis());
+            return;
+        }
+        log.info("Aquecimento concluído em {} ms.", Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    private void step(String name, Runnable exercise) {
+        if (expired()) {
+            return;
+        }
+        try {
+            exercise.run();
+        } catch (RuntimeException e) {
+            log.warn("Falha no aquecimento ({}); seguindo para o próximo passo.", name, e);
+        }
+    }
+
+    private boolean expired() {
+        return System.nanoTime() >= deadline || Thread.currentThread().isInterrupted();
+    }
+
+    /**
+     * Executa as consultas dos caminhos principais (login, consulta por ID e CPF, ETag, lote)
+     * com valores inexistentes, compilando as consultas no Hibernate e preparando os comandos.
+     */
+    private void runQueries() {
+        for (int i = 0; i < queryIterations && !expired(); i++) {
+            String id = UUID.randomUUID().toString();
+            userRepository.findActiveUserById(id);
+            userRepository.findActiveUserVersionById(id);
+            userRepository.findActiveUserByEmail(id + "@aquecimento.invalid");
+            userRepository.findActiveUserByCpf(CPF);
+            userRepository.findActiveUserVersionByCpf(CPF);
+            userRepository.findActiveUsersByIdIn(List.of(id));
+        }
+    }
+
+    private void primeUserCache() {
+        if (cachedUsers <= 0) {
+            return;
+        }
+        List<String> ids = userRepository.findRecentlyUpdatedActiveIds(Limit.of(cachedUsers));
+        if (!ids.isEmpty()) {
+            userLookupCache.putAll(userRepository.findActiveUsersByIdIn(ids));
+        }
+    }
+
+    private void serializeDtos() {
+        User user = syntheticUser();
+        Set<UserField> allFields = UserField.parse("*");
+        String createJson = "{\"cpf\":\"" + CPF.getCpf() + "\",\"fullname\":\"Aquecimento\",\"email\":\"aquecimento@invalid\","
+                + "\"password\":\"" + PASSWORD + "\",\"birth_date\":\"1990-01-01\"}";
+        String loginJson = "{\"email\":\"aquecimento@invalid\",\"password\":\"" + PASSWORD + "\"}";
+        try {
+            for (int i = 0; i < iterations && !expired(); i++) {
+                objectMapper.writeValueAsBytes(new UserResponseDTO(user));
+                objectMapper.writeValueAsBytes(List.of(new UserLeanResponseDTO(user, allFields)));
+                objectMapper.readValue(createJson, UserCreateDTO.class);
+                objectMapper.readValue(loginJson, UserLoginDTO.class);
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Erro ao serializar os DTOs de aquecimento.", e);
+        }
+    }
+
+    private void signTokens() {
+        User user = syntheticUser();
+        for (int i = 0; i < iterations && !expired(); i++) {
+            jwtService.gerarToken(user);
+        }
+    }
+
+    private void hashPasswords() {
+        for (int i = 0; i < passwordIterations && !expired(); i++) {
+            String hash = passwordEncoder.encode(PASSWORD);
+            passwordEncoder.matches(PASSWORD, hash);
+        }
+    }
+
+    private static User syntheticUser() {
+        Role role = new Role();
+        role.setId(1);
+        role.setName("ROLE_USER");
+
+        User user = new User();
+        user.setId(UUID.randomUUID().toString());
+        user.setCpf(CPF);
+        user.setFullname("Usuário Aquecimento");
+        user.setEmail("aquecimento@invalid");
+        user.setBirthDate(LocalDate.of(1990, 1, 1));
+        user.setComplete(true);
+        user.setCreatedAt(Instant.now());
+        user.setUpdatedAt(Instant.now());
+        user.setRoles(Set.of(role));
+        return user;
+    }
+}
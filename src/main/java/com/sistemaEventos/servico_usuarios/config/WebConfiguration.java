@@ -0,0 +1,27 @@
+package com.sistemaEventos.servico_usuarios.config;
+
+import com.sistemaEventos.servico_usuarios.security.RequesterPrincipal;
+import com.sistemaEventos.servico_usuarios.web.RequesterPrincipalArgumentResolver;
+import org.springdoc.core.utils.SpringDocUtils;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Configuração do Spring MVC: registra a resolução do
+ * {@link com.sistemaEventos.servico_usuarios.security.RequesterPrincipal} nos controladores.
+ */
+@Configuration
+public class WebConfiguration implements WebMvcConfigurer {
+    static {
+        // O principal vem dos headers do gateway, não de parâmetros da requisição: fora da documentação
+        SpringDocUtils.getConfig().addRequestWrapperToIgnore(RequesterPrincipal.class);
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new RequesterPrincipalArgumentResolver());
+    }
+}
@@ -6,12 +6,16 @@ import com.sistemaEventos.servico_usuarios.service.AuthService;
 import com.sistemaEventos.servico_usuarios.service.UserService;
 import com.sistemaEventos.servico_usuarios.exception.EmailAlreadyExistsException;
 import com.sistemaEventos.servico_usuarios.exception.CpfAlreadyExistsException;
+import com.sistemaEventos.servico_usuarios.web.IdempotencyStore;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -24,15 +28,23 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 @RequestMapping("/auth")
 public class AuthController {
+    private static final Logger log = LoggerFactory.getLogger(AuthController.class);
+
     @Autowired
     private AuthService authService;
     @Autowired
     private UserService userService;
+    @Autowired
+    private IdempotencyStore idempotencyStore;
 
     /**
      * Endpoint para registrar um novo usuário completo no sistema.
+     * <p>
+     * Com o header {@code Idempotency-Key}, uma repetição da mesma requisição (ex: após um timeout)
+     * recebe a resposta original, sem criar o usuário novamente.
      *
      * @param dto O {@link UserCreateDTO} contendo os dados do novo usuário (nome, e-mail, senha, cpf, etc.).
+     * @param idempotencyKey O header {@code Idempotency-Key} (opcional).
      * @return Um {@link ResponseEntity} com status {@code 201 Created} e o
      * {@link UserResponseDTO} do usuário recém-criado no corpo.
      * @throws EmailAlreadyExistsException (Tratado pelo GlobalExceptionHandler)
@@ -41,13 +53,21 @@ public class AuthController {
      * se o CPF já estiver em uso.
      */
     @PostMapping("/register")
-    public ResponseEntity<UserResponseDTO> createNewUser(@RequestBody UserCreateDTO dto) {
-        System.out.println(dto);
-        User user = userService.createUser(dto);
-        //Converte o User para UserDTO
-        UserResponseDTO response = new UserResponseDTO(user);
-        //Retorna 201 Created e o DTO no corpo
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    public ResponseEntity<UserResponseDTO> createNewUser(
+            @RequestBody UserCreateDTO dto,
+            @RequestHeader(value = IdempotencyStore.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        log.atInfo().setMessage("Registro de usuário solicitado")
+                .addKeyValue("email", maskEmail(dto.email()))
+                .log();
+        return idempotencyStore.execute("auth.register", idempotencyKey, dto, UserResponseDTO.class,
+                () -> userService.prepareUser(dto),
+                prepared -> {
+                    User user = userService.saveNewUser(prepared);
+                    //Converte o User para UserDTO
+                    UserResponseDTO response = new UserResponseDTO(user);
+                    //Retorna 201 Created e o DTO no corpo
+                    return ResponseEntity.status(HttpStatus.CREATED).body(response);
+                });
     }
 
     /**
@@ -61,12 +81,33 @@ public class AuthController {
      */
     @PostMapping("/login")
     public ResponseEntity<String> login(@RequestBody UserLoginDTO dto) {
-        System.out.println(dto);
+        // Nunca registrar a senha: apenas o e-mail (mascarado) identifica a tentativa
+        log.atInfo().setMessage("Login solicitado")
+                .addKeyValue("email", maskEmail(dto.email()))
+                .log();
         String token = authService.login(dto);
         // Retorna o token JWT no corpo da resposta
         return ResponseEntity.ok(token);
     }
 
+    /**
+     * Mascara o e-mail para os logs (ex: "j***@exemplo.com"), mantendo apenas o primeiro
+     * caractere e o domínio, como o {@code toString()} do CPF.
+     *
+     * @param email O e-mail informado na requisição (pode ser inválido ou nulo).
+     * @return O e-mail mascarado.
+     */
+    static String maskEmail(String email) {
+        if (email == null || email.isEmpty()) {
+            return email;
+        }
+        int at = email.lastIndexOf('@');
+        if (at <= 0) {
+            return email.charAt(0) + "***";
+        }
+        return email.charAt(0) + "***" + email.substring(at);
+    }
+
     @PostMapping("/password-recovery")
     public ResponseEntity<Void> password_recovery(@RequestBody SendRecoveryCodeDTO dto) {
         authService.sendPasswordRecoveryCode(dto);
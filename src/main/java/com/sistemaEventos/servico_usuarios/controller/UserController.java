@@ -1,13 +1,24 @@
 package com.sistemaEventos.servico_usuarios.controller;
 
+import com.sistemaEventos.servico_usuarios.dto.UserBatchLookupDTO;
+import com.sistemaEventos.servico_usuarios.dto.UserChangesPageDTO;
+import com.sistemaEventos.servico_usuarios.dto.UserField;
+import com.sistemaEventos.servico_usuarios.dto.UserLeanResponseDTO;
 import com.sistemaEventos.servico_usuarios.dto.UserResponseDTO;
+import com.sistemaEventos.servico_usuarios.dto.UserSearchMatch;
+import com.sistemaEventos.servico_usuarios.dto.UserSearchPageDTO;
 import com.sistemaEventos.servico_usuarios.dto.UserSyncDTO;
 import com.sistemaEventos.servico_usuarios.dto.UserUpdateDTO;
 import com.sistemaEventos.servico_usuarios.model.User;
+import com.sistemaEventos.servico_usuarios.security.RequesterPrincipal;
 import com.sistemaEventos.servico_usuarios.service.UserService;
+import com.sistemaEventos.servico_usuarios.web.IdempotencyStore;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,29 +29,40 @@ import com.sistemaEventos.servico_usuarios.exception.EmailAlreadyExistsException
 import com.sistemaEventos.servico_usuarios.exception.CpfAlreadyExistsException;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Controlador REST para as operações de CRUD (Criar, Ler, Atualizar, Deletar) da entidade {@link User}.
  * <p>
  * Todos os endpoints deste controlador são protegidos e esperam que o API Gateway
  * injete os headers de segurança (`X-User-Id`, `X-User-Roles`) após a
- * validação do token JWT.
+ * validação do token JWT. Os headers são lidos uma única vez por requisição e chegam aos
+ * métodos como um {@link RequesterPrincipal}.
  */
 @RestController
 @RequestMapping("/users")
 public class UserController {
+    private static final Logger log = LoggerFactory.getLogger(UserController.class);
+
     @Autowired
     private UserService userService;
+    @Autowired
+    private IdempotencyStore idempotencyStore;
 
     /**
      * Retorna o usuário pelo "X-User-Id" contigo no token JWT e no Header da requisição.
      * O acesso é permitido apenas ao próprio usuário (dono) ou a um administrador.
      *
-     * @param requesterId O ID (UUID) do usuário que está fazendo a solicitação (do header).
-     * @param requesterRoles As roles do usuário que está fazendo a solicitação (do header).
+     * Suporta requisições condicionais: se o {@code If-None-Match} corresponder ao ETag atual,
+     * responde {@code 304 Not Modified} sem carregar nem serializar o usuário.
+     *
+     * @param requester O usuário que está fazendo a solicitação (dos headers do gateway).
+     * @param ifNoneMatch O header {@code If-None-Match} (opcional).
      * @return Um {@link ResponseEntity} com status {@code 200 OK} e o {@link UserResponseDTO} do
-     * usuário encontrado.
+     * usuário encontrado, ou {@code 304 Not Modified}.
      * @throws UserNotFoundException (Tratado pelo GlobalExceptionHandler)
      * se o usuário não for encontrado.
      * @throws AccessDeniedException (Tratado pelo GlobalExceptionHandler) se o solicitante não for o
@@ -48,47 +70,98 @@ public class UserController {
      */
     @GetMapping("/me")
     public ResponseEntity<UserResponseDTO> getUserByToken(
-            @RequestHeader("X-User-Id") String requesterId,
-            @RequestHeader("X-User-Roles") String requesterRoles
+            RequesterPrincipal requester,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ){
-        System.out.println(requesterId);
-        User user = userService.getUserById(requesterId, requesterId, requesterRoles);
-        UserResponseDTO response = new UserResponseDTO(user);
-
-        return ResponseEntity.status(HttpStatus.OK).body(response);
+        log.atDebug().setMessage("Consulta do próprio usuário")
+                .addKeyValue("userId", requester.userId())
+                .log();
+        return getUserResponse(requester.userId(), requester, ifNoneMatch);
     };
 
     /**
      * Retorna uma lista de todos os usuários ativos do sistema.
      * Esta é uma operação restrita a administradores.
      *
-     * @param requesterRoles O header "X-User-Roles" injetado pelo gateway, usado para verificar se o
-     * solicitante é um ADMIN.
+     * @param requester O usuário que está fazendo a solicitação (dos headers do gateway), usado para
+     * verificar se o solicitante é um ADMIN.
      * @return Um {@link ResponseEntity} com status {@code 200 OK} e a lista de {@link UserResponseDTO}
      * no corpo.
      * @throws AccessDeniedException (Tratado pelo GlobalExceptionHandler) se o solicitante não for um
      * ADMIN.
      */
     @GetMapping
-    public ResponseEntity<List<UserResponseDTO>> getUsers(@RequestHeader("X-User-Roles") String requesterRoles) {
+    public ResponseEntity<List<UserResponseDTO>> getUsers(RequesterPrincipal requester) {
 
-        List<User> users = userService.getAllUsers(requesterRoles);
-        List<UserResponseDTO> response = new ArrayList<>();
+        List<User> users = userService.getAllUsers(requester);
+        List<UserResponseDTO> response = new ArrayList<>(users.size());
         for (User user : users) {
             response.add(new UserResponseDTO(user));
         }
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 
+    /**
+     * Retorna a lista de usuários ativos na representação enxuta ({@link UserLeanResponseDTO}),
+     * com as roles como nomes e apenas os campos pedidos (ex: {@code ?fields=id,email}).
+     * Use {@code ?fields=*} para todos os campos. Restrito a administradores.
+     *
+     * @param fields Os campos a serem retornados, separados por vírgula.
+     * @param requester O usuário que está fazendo a solicitação (dos headers do gateway).
+     * @return Um {@link ResponseEntity} com status {@code 200 OK} e a lista enxuta no corpo.
+     * @throws IllegalArgumentException (Tratado pelo GlobalExceptionHandler) se algum campo não existir.
+     * @throws AccessDeniedException (Tratado pelo GlobalExceptionHandler) se o solicitante não for um
+     * ADMIN.
+     */
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<UserLeanResponseDTO>> getUsersLean(
+            @RequestParam("fields") String fields,
+            RequesterPrincipal requester) {
+        Set<UserField> selectedFields = UserField.parse(fields);
+
+        List<User> users = userService.getAllUsers(requester);
+        List<UserLeanResponseDTO> response = new ArrayList<>(users.size());
+        for (User user : users) {
+            response.add(new UserLeanResponseDTO(user, selectedFields));
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
+    /**
+     * Retorna as alterações de usuários (criações, atualizações e exclusões) desde o cursor
+     * informado, permitindo que outros serviços e quiosques offline atualizem sua cópia local
+     * incrementalmente, em vez de baixar todos os usuários.
+     * Usuários excluídos vêm como tombstones ({@code deleted = true}, sem dados).
+     * Esta é uma operação restrita a administradores.
+     *
+     * @param since O {@code nextCursor} da página anterior (ausente para começar do início).
+     * @param limit A quantidade máxima de alterações da página.
+     * @param requester O usuário que está fazendo a solicitação (dos headers do gateway).
+     * @return Um {@link ResponseEntity} com status {@code 200 OK} e a página de alterações; se
+     * {@code hasMore} for {@code true}, o cliente deve pedir a próxima página imediatamente.
+     * @throws IllegalArgumentException (Tratado pelo GlobalExceptionHandler) se o cursor for inválido.
+     * @throws AccessDeniedException (Tratado pelo GlobalExceptionHandler) se o solicitante não for um
+     * ADMIN.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<UserChangesPageDTO> getUserChanges(
+            @RequestParam(value = "since", required = false) String since,
+            @RequestParam(value = "limit", defaultValue = "500") int limit,
+            RequesterPrincipal requester) {
+        return ResponseEntity.ok(userService.getUserChanges(since, limit, requester));
+    }
+
     /**
      * Retorna um usuário específico pelo seu ID.
      * O acesso é permitido apenas ao próprio usuário (dono) ou a um administrador.
      *
+     * Suporta requisições condicionais ({@code If-None-Match}), como {@link #getUserByToken}.
+     *
      * @param id O ID (UUID) do usuário a ser buscado (da URL).
-     * @param requesterId O ID (UUID) do usuário que está fazendo a solicitação (do header).
-     * @param requesterRoles As roles do usuário que está fazendo a solicitação (do header).
+     * @param requester O usuário que está fazendo a solicitação (dos headers do gateway).
+     * @param ifNoneMatch O header {@code If-None-Match} (opcional).
      * @return Um {@link ResponseEntity} com status {@code 200 OK} e o {@link UserResponseDTO} do
-     * usuário encontrado.
+     * usuário encontrado, ou {@code 304 Not Modified}.
      * @throws UserNotFoundException (Tratado pelo GlobalExceptionHandler)
      * se o usuário não for encontrado.
      * @throws AccessDeniedException (Tratado pelo GlobalExceptionHandler) se o solicitante não for o
@@ -97,19 +170,20 @@ public class UserController {
     @GetMapping("/{id}")
     public ResponseEntity<UserResponseDTO> getUserById(
             @PathVariable String id,
-            @RequestHeader("X-User-Id") String requesterId,
-            @RequestHeader("X-User-Roles") String requesterRoles) {
-        User user = userService.getUserById(id, requesterId, requesterRoles);
-        UserResponseDTO response = new UserResponseDTO(user);
-
-        return ResponseEntity.status(HttpStatus.OK).body(response);
+            RequesterPrincipal requester,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return getUserResponse(id, requester, ifNoneMatch);
     }
 
     /**
      * Sincroniza um usuário criado offline (ex: cadastro em modo offline no app mobile).
      * Este endpoint cria um usuário parcial (incompleto) no banco de dados.
+     * <p>
+     * Com o header {@code Idempotency-Key}, os reenvios do app (ex: após um timeout) recebem
+     * a resposta original, sem criar o usuário novamente.
      *
      * @param dto O {@link UserSyncDTO} contendo os dados parciais do usuário.
+     * @param idempotencyKey O header {@code Idempotency-Key} (opcional).
      * @return Um {@link ResponseEntity} com status {@code 201 Created} e o {@link UserResponseDTO}
      * do usuário sincronizado.
      * @throws EmailAlreadyExistsException (Tratado pelo GlobalExceptionHandler)
@@ -118,11 +192,17 @@ public class UserController {
      * se o CPF já estiver em uso.
      */
     @PostMapping("/sync")
-    public ResponseEntity<UserResponseDTO> syncOfflineUser(@RequestBody UserSyncDTO dto) {
-        User user = userService.createSyncUser(dto);
+    public ResponseEntity<UserResponseDTO> syncOfflineUser(
+            @RequestBody UserSyncDTO dto,
+            @RequestHeader(value = IdempotencyStore.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute("users.sync", idempotencyKey, dto, UserResponseDTO.class,
+                () -> userService.prepareSyncUser(dto),
+                prepared -> {
+                    User user = userService.saveNewUser(prepared);
 
-        UserResponseDTO response = new UserResponseDTO(user);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+                    UserResponseDTO response = new UserResponseDTO(user);
+                    return ResponseEntity.status(HttpStatus.CREATED).body(response);
+                });
     }
 
     /**
@@ -131,8 +211,7 @@ public class UserController {
      *
      * @param id O ID (UUID) do usuário a ser atualizado (da URL).
      * @param dto O {@link UserUpdateDTO} contendo os dados a serem alterados.
-     * @param requesterId O ID (UUID) do usuário que está fazendo a solicitação (do header).
-     * @param requesterRoles As roles do usuário que está fazendo a solicitação (do header).
+     * @param requester O usuário que está fazendo a solicitação (dos headers do gateway).
      * @return Um {@link ResponseEntity} com status {@code 200 OK} e o {@link UserResponseDTO}
      * do usuário atualizado.
      * @throws UserNotFoundException (Tratado pelo GlobalExceptionHandler)
@@ -144,9 +223,8 @@ public class UserController {
     public ResponseEntity<UserResponseDTO> updateUser(
             @PathVariable String id,
             @RequestBody UserUpdateDTO dto,
-            @RequestHeader("X-User-Id") String requesterId,
-            @RequestHeader("X-User-Roles") String requesterRoles)  {
-        User user = userService.updateUser(id, dto, requesterId, requesterRoles);
+            RequesterPrincipal requester) {
+        User user = userService.updateUser(id, dto, requester);
 
         UserResponseDTO response = new UserResponseDTO(user);
         return ResponseEntity.status(HttpStatus.OK).body(response);
@@ -157,8 +235,7 @@ public class UserController {
      * A exclusão é permitida apenas ao próprio usuário (dono) ou a um administrador.
      *
      * @param id O ID (UUID) do usuário a ser deletado (da URL).
-     * @param requesterId O ID (UUID) do usuário que está fazendo a solicitação (do header).
-     * @param requesterRoles As roles do usuário que está fazendo a solicitação (do header).
+     * @param requester O usuário que está fazendo a solicitação (dos headers do gateway).
      * @return Um {@link ResponseEntity} com status {@code 204 No Content}.
      * @throws com.sistemaEventos.servico_usuarios.exception.UserNotFoundException (Tratado pelo GlobalExceptionHandler)
      * se o usuário não for encontrado.
@@ -168,9 +245,8 @@ public class UserController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteUser(
             @PathVariable String id,
-            @RequestHeader("X-User-Id") String requesterId,
-            @RequestHeader("X-User-Roles") String requesterRoles) {
-        userService.deleteUser(id, requesterId, requesterRoles);
+            RequesterPrincipal requester) {
+        userService.deleteUser(id, requester);
 
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
@@ -178,11 +254,89 @@ public class UserController {
     /**
      * Busca um usuário pelo CPF.
      * Usado pelo App Mobile para localizar participantes na portaria.
+     * Suporta requisições condicionais ({@code If-None-Match}).
      */
-    @GetMapping("/search")
-    public ResponseEntity<UserResponseDTO> findUserByCpf(@RequestParam("cpf") String cpf) {
+    @GetMapping(value = "/search", params = "cpf")
+    public ResponseEntity<UserResponseDTO> findUserByCpf(
+            @RequestParam("cpf") String cpf,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String etag = UserETag.of(userService.getUserVersionByCpf(cpf));
+            if (UserETag.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+
         // O service já tem o método findByCpf que criamos antes
         User user = userService.findByCpf(cpf);
-        return ResponseEntity.ok(new UserResponseDTO(user));
+        return ResponseEntity.ok().eTag(UserETag.of(user)).body(new UserResponseDTO(user));
+    }
+
+    /**
+     * Busca usuários pelo nome completo ou e-mail (ex: {@code ?q=ana}), paginando o resultado.
+     * Substitui o download de todos os usuários para filtragem no cliente (telas de administração).
+     * Esta é uma operação restrita a administradores.
+     *
+     * @param q O termo buscado (sem diferenciar maiúsculas e minúsculas).
+     * @param match {@code PREFIX} (padrão): nome ou e-mail começando com o termo;
+     *              {@code CONTAINS}: contendo o termo (mínimo de 3 caracteres).
+     * @param cursor O {@code nextCursor} da página anterior (ausente na primeira página).
+     * @param limit A quantidade máxima de usuários da página.
+     * @param requester O usuário que está fazendo a solicitação (dos headers do gateway).
+     * @return Um {@link ResponseEntity} com status {@code 200 OK} e a página de usuários.
+     * @throws IllegalArgumentException (Tratado pelo GlobalExceptionHandler) se o termo ou o cursor
+     * forem inválidos.
+     * @throws AccessDeniedException (Tratado pelo GlobalExceptionHandler) se o solicitante não for um
+     * ADMIN.
+     */
+    @GetMapping(value = "/search", params = "q")
+    public ResponseEntity<UserSearchPageDTO> searchUsers(
+            @RequestParam("q") String q,
+            @RequestParam(value = "match", required = false) String match,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit,
+            RequesterPrincipal requester) {
+        return ResponseEntity.ok(userService.searchUsers(q, UserSearchMatch.parse(match), cursor, limit, requester));
+    }
+
+    /**
+     * Resolve vários usuários de uma só vez, por ID e/ou CPF.
+     * Usado pelos demais serviços do sistema de eventos (ex: montagem da lista de participantes),
+     * substituindo uma chamada a {@code GET /users/{id}} ou {@code /users/search} por participante.
+     *
+     * @param dto O {@link UserBatchLookupDTO} com os IDs e CPFs procurados.
+     * @return Um {@link ResponseEntity} com status {@code 200 OK} e um mapa indexado pelos valores
+     * informados (ID ou CPF); os não encontrados ficam de fora do mapa.
+     * @throws IllegalArgumentException (Tratado pelo GlobalExceptionHandler) se o lote exceder o
+     * tamanho máximo.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<Map<String, UserResponseDTO>> resolveUsers(@RequestBody UserBatchLookupDTO dto) {
+        Map<String, User> users = userService.resolveUsers(dto.ids(), dto.cpfs());
+
+        Map<String, UserResponseDTO> response = new LinkedHashMap<>(users.size() * 2);
+        users.forEach((key, user) -> response.put(key, new UserResponseDTO(user)));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Monta a resposta de um único usuário com ETag.
+     * <p>
+     * Com {@code If-None-Match}, consulta antes apenas a versão do usuário (sem roles nem
+     * demais colunas); se o ETag corresponder, responde {@code 304} sem carregar a entidade.
+     */
+    private ResponseEntity<UserResponseDTO> getUserResponse(String targetId, RequesterPrincipal requester,
+                                                            String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            String etag = UserETag.of(userService.getUserVersionById(targetId, requester));
+            if (UserETag.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+
+        User user = userService.getUserById(targetId, requester);
+        UserResponseDTO response = new UserResponseDTO(user);
+
+        return ResponseEntity.status(HttpStatus.OK).eTag(UserETag.of(user)).body(response);
     }
 }
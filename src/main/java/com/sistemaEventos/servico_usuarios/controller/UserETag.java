@@ -0,0 +1,62 @@
+package com.sistemaEventos.servico_usuarios.controller;
+
+import com.sistemaEventos.servico_usuarios.dto.UserVersionDTO;
+import com.sistemaEventos.servico_usuarios.model.User;
+
+import java.time.Instant;
+
+/**
+ * Cálculo e comparação dos ETags das respostas de usuário.
+ * <p>
+ * O ETag é forte e derivado do ID e do {@code updatedAt} do usuário, que o Hibernate
+ * atualiza a cada alteração. Assim ele pode ser calculado tanto a partir da entidade
+ * quanto da projeção {@link UserVersionDTO}, sem serializar a resposta.
+ * <p>
+ * Alterações apenas nas roles do usuário (tabela {@code users_roles}) não mudam o
+ * {@code updatedAt} e, portanto, não invalidam o ETag.
+ */
+final class UserETag {
+    private UserETag() {}
+
+    static String of(User user) {
+        return of(user.getId(), user.getUpdatedAt());
+    }
+
+    static String of(UserVersionDTO version) {
+        return of(version.id(), version.updatedAt());
+    }
+
+    static String of(String id, Instant updatedAt) {
+        if (updatedAt == null) {
+            return "\"" + id + "\"";
+        }
+        return "\"" + id + "-" + updatedAt.getEpochSecond() + "." + updatedAt.getNano() + "\"";
+    }
+
+    /**
+     * Verifica se o header {@code If-None-Match} contém o ETag atual.
+     * Segue a comparação fraca exigida para {@code If-None-Match} (o prefixo {@code W/} é ignorado).
+     *
+     * @param ifNoneMatch O valor do header (pode conter vários ETags separados por vírgula).
+     * @param etag O ETag atual do recurso.
+     * @return {@code true} se a resposta pode ser {@code 304 Not Modified}.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
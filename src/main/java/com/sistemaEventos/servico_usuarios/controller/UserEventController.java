@@ -0,0 +1,74 @@
+package com.sistemaEventos.servico_usuarios.controller;
+
+import com.sistemaEventos.servico_usuarios.dto.UserEventPageDTO;
+import com.sistemaEventos.servico_usuarios.security.RequesterPrincipal;
+import com.sistemaEventos.servico_usuarios.service.UserEventService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+
+/**
+ * Controlador REST do feed de eventos de usuário, consumido pelos demais serviços
+ * para acompanhar criações, alterações e exclusões sem varrer {@code GET /users}.
+ * <p>
+ * O consumidor guarda o último {@code offset} recebido e o informa na próxima leitura
+ * ({@code after}), retomando exatamente de onde parou.
+ */
+@RestController
+@RequestMapping("/users/events")
+public class UserEventController {
+    private static final long MAX_WAIT_SECONDS = 60;
+
+    @Autowired
+    private UserEventService userEventService;
+
+    /**
+     * Retorna os eventos posteriores ao offset informado (long-poll).
+     * Se não houver eventos novos, a requisição aguarda até {@code waitSeconds} segundos
+     * por um evento antes de responder uma página vazia.
+     * Esta é uma operação restrita a administradores.
+     *
+     * @param after          O último offset já recebido ({@code 0} para ler desde o início).
+     * @param limit          A quantidade máxima de eventos da página.
+     * @param waitSeconds    O tempo máximo de espera por eventos novos ({@code 0} responde imediatamente).
+     * @param requester      O usuário que está fazendo a solicitação (dos headers do gateway).
+     * @return A página de eventos e o {@code nextOffset} a ser usado na próxima leitura.
+     * @throws AccessDeniedException (Tratado pelo GlobalExceptionHandler) se o solicitante não for um ADMIN.
+     */
+    @GetMapping
+    public DeferredResult<UserEventPageDTO> getEvents(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "0") long waitSeconds,
+            RequesterPrincipal requester
+    ) {
+        Duration wait = Duration.ofSeconds(Math.max(0, Math.min(waitSeconds, MAX_WAIT_SECONDS)));
+        return userEventService.pollEvents(after, limit, wait, requester);
+    }
+
+    /**
+     * Abre um stream SSE com os eventos posteriores ao offset informado.
+     * Cada evento traz o offset no campo {@code id}; ao reconectar, o cliente SSE envia
+     * o header {@code Last-Event-ID}, que tem precedência sobre o parâmetro {@code after}.
+     * Esta é uma operação restrita a administradores.
+     *
+     * @param after          O último offset já recebido ({@code 0} para ler desde o início).
+     * @param lastEventId    O header {@code Last-Event-ID} (opcional).
+     * @param requester      O usuário que está fazendo a solicitação (dos headers do gateway).
+     * @return O stream de eventos.
+     * @throws AccessDeniedException (Tratado pelo GlobalExceptionHandler) se o solicitante não for um ADMIN.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            RequesterPrincipal requester
+    ) {
+        return userEventService.streamEvents(lastEventId != null ? lastEventId : after, requester);
+    }
+}
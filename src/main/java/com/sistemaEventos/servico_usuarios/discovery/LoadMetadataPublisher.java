@@ -0,0 +1,139 @@
+package com.sistemaEventos.servico_usuarios.discovery;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publica periodicamente os sinais de carga da instância nos metadados do Eureka, para que
+ * os clientes escolham a instância menos carregada (o {@code LoadAwareLoadBalancer} do módulo
+ * {@code servico-usuarios-client}, que lê o {@link #SCORE_KEY}).
+ * <p>
+ * Sinais publicados (lidos das métricas do Micrometer):
+ * <ul>
+ *     <li>{@code load.inflight}: requisições HTTP em andamento nos bulkheads ({@code users.bulkhead.inflight});</li>
+ *     <li>{@code load.hashing}: operações de BCrypt em andamento ({@code users.password.active});</li>
+ *     <li>{@code load.db-pending}: threads aguardando conexão do pool ({@code hikaricp.connections.pending});</li>
+ *     <li>{@code load.p99-ms}: p99 recente dos endpoints, ponderado pelas requisições de cada um
+ *     ({@code http.server.requests});</li>
+ *     <li>{@code load.score}: a combinação dos sinais acima, usada pelos clientes (menor é melhor).</li>
+ * </ul>
+ * O feed de eventos ({@code /users/events}, long-poll e SSE) e o Actuator ficam de fora dos dois
+ * sinais de requisições: uma conexão de long-poll ou SSE fica aberta por minutos sem ocupar a
+ * instância, e contá-la tornaria mais "carregadas" justamente as instâncias com mais assinantes.
+ * Os gauges dos bulkheads já excluem esses caminhos e existem mesmo com os bulkheads desativados
+ * (o {@code http.server.requests.active} não serve: o {@code uri} só é conhecido ao fim da requisição).
+ * <p>
+ * Os metadados chegam aos clientes na replicação da instância e na atualização do cache do
+ * cliente Eureka (cerca de 30 s cada), por isso o intervalo padrão de publicação
+ * ({@code servico-usuarios.load-metadata.interval-ms}) também é de 30 s. Sem Eureka, nada é publicado.
+ */
+@Component
+public class LoadMetadataPublisher {
+    public static final String SCORE_KEY = "load.score";
+
+    /**
+     * Peso de cada operação de BCrypt no score: ela ocupa um núcleo por ~100 ms.
+     */
+    private static final double HASHING_WEIGHT = 4;
+    /**
+     * Peso de cada thread aguardando conexão: o banco é o recurso compartilhado mais escasso.
+     */
+    private static final double DB_PENDING_WEIGHT = 2;
+    /**
+     * Cada 100 ms de p99 equivale a uma requisição em andamento.
+     */
+    private static final double P99_MS_PER_POINT = 100;
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<ApplicationInfoManager> applicationInfoManager;
+
+    /**
+     * Quantidade de requisições de cada timer na publicação anterior.
+     */
+    private Map<Meter.Id, Long> previousCounts = new HashMap<>();
+
+    public LoadMetadataPublisher(MeterRegistry meterRegistry,
+                                 ObjectProvider<ApplicationInfoManager> applicationInfoManager) {
+        this.meterRegistry = meterRegistry;
+        this.applicationInfoManager = applicationInfoManager;
+    }
+
+    @Scheduled(fixedDelayString = "${servico-usuarios.load-metadata.interval-ms:30000}",
+            initialDelayString = "${servico-usuarios.load-metadata.interval-ms:30000}")
+    public void publish() {
+        ApplicationInfoManager manager = applicationInfoManager.getIfAvailable();
+        if (manager == null) {
+            return;
+        }
+
+        long inflight = Math.round(sumGauges("users.bulkhead.inflight"));
+        long hashing = Math.round(sumGauges("users.password.active"));
+        long dbPending = Math.round(sumGauges("hikaricp.connections.pending"));
+        long p99Ms = Math.round(recentP99Millis());
+        double score = inflight + HASHING_WEIGHT * hashing + DB_PENDING_WEIGHT * dbPending + p99Ms / P99_MS_PER_POINT;
+
+        Map<String, String> metadata = new LinkedHashMap<>();
+        metadata.put("load.inflight", Long.toString(inflight));
+        metadata.put("load.hashing", Long.toString(hashing));
+        metadata.put("load.db-pending", Long.toString(dbPending));
+        metadata.put("load.p99-ms", Long.toString(p99Ms));
+        metadata.put(SCORE_KEY, String.format(Locale.ROOT, "%.1f", score));
+        manager.registerAppMetadata(metadata);
+    }
+
+    private double sumGauges(String name) {
+        return meterRegistry.find(name).gauges().stream()
+                .mapToDouble(Gauge::value)
+                .filter(Double::isFinite)
+                .sum();
+    }
+
+    /**
+     * O p99 recente (janela deslizante do Micrometer) dos timers {@code http.server.requests},
+     * ponderado pelas requisições de cada endpoint desde a publicação anterior: um endpoint raro
+     * e lento não domina o sinal, e endpoints sem requisições no intervalo não contam.
+     * Depende de {@code management.metrics.distribution.percentiles.http.server.requests=0.99}.
+     */
+    private double recentP99Millis() {
+        Map<Meter.Id, Long> counts = new HashMap<>();
+        double weightedSum = 0;
+        long requests = 0;
+        for (Timer timer : meterRegistry.find("http.server.requests").timers()) {
+            String uri = timer.getId().getTag("uri");
+            if (uri != null && (uri.startsWith("/users/events") || uri.startsWith("/actuator"))) {
+                continue;
+            }
+
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            counts.put(timer.getId(), snapshot.count());
+            long previous = previousCounts.getOrDefault(timer.getId(), 0L);
+            // Registros com contagem por intervalo (step) reiniciam a contagem a cada passo
+            long recent = snapshot.count() >= previous ? snapshot.count() - previous : snapshot.count();
+            if (recent == 0) {
+                continue;
+            }
+            for (ValueAtPercentile value : snapshot.percentileValues()) {
+                if (value.percentile() == 0.99) {
+                    weightedSum += recent * value.value(TimeUnit.MILLISECONDS);
+                    requests += recent;
+                }
+            }
+        }
+        previousCounts = counts;
+        return requests == 0 ? 0 : weightedSum / requests;
+    }
+}
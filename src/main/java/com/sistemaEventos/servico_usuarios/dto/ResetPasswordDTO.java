@@ -4,4 +4,9 @@ public record ResetPasswordDTO (
         String token,
         String email,
         String newPassword
-) {}
+) {
+    @Override
+    public String toString() {
+        return "ResetPasswordDTO[token=[PROTEGIDO], email=" + email + ", newPassword=[PROTEGIDO]]";
+    }
+}
@@ -0,0 +1,11 @@
+package com.sistemaEventos.servico_usuarios.dto;
+
+import java.util.List;
+
+/**
+ * Requisição de consulta em lote: IDs e/ou CPFs dos usuários a serem resolvidos.
+ */
+public record UserBatchLookupDTO(
+        List<String> ids,
+        List<String> cpfs
+) {}
@@ -0,0 +1,28 @@
+package com.sistemaEventos.servico_usuarios.dto;
+
+import com.sistemaEventos.servico_usuarios.model.User;
+
+import java.time.Instant;
+
+/**
+ * Uma entrada do feed de alterações de usuários.
+ * <p>
+ * Para usuários ativos, {@code user} traz o estado atual (upsert). Para usuários excluídos,
+ * {@code deleted} é {@code true} e {@code user} é nulo (tombstone): o consumidor deve
+ * remover o usuário da sua cópia local.
+ */
+public record UserChangeDTO(
+        String id,
+        boolean deleted,
+        Instant updatedAt,
+        UserResponseDTO user
+) {
+    public UserChangeDTO(User user) {
+        this(
+                user.getId(),
+                user.getDeletedAt() != null,
+                user.getUpdatedAt(),
+                user.getDeletedAt() != null ? null : new UserResponseDTO(user)
+        );
+    }
+}
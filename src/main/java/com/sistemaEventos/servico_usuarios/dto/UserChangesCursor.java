@@ -0,0 +1,54 @@
+package com.sistemaEventos.servico_usuarios.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+/**
+ * Posição no feed de alterações de usuários: o par ({@code updatedAt}, {@code id}) do
+ * último usuário entregue.
+ * <p>
+ * É trafegado como texto opaco (Base64 URL-safe de {@code "<epochMicros>:<id>"}). A precisão
+ * de microssegundos é a mesma da coluna {@code updated_at} no PostgreSQL.
+ */
+public record UserChangesCursor(
+        Instant updatedAt,
+        String id
+) {
+    /**
+     * Posição inicial: antes de qualquer usuário.
+     */
+    public static final UserChangesCursor START = new UserChangesCursor(Instant.EPOCH, "");
+
+    /**
+     * Lê o cursor recebido do cliente.
+     *
+     * @param value O cursor codificado, ou {@code null}/vazio para o início do feed.
+     * @return O cursor decodificado.
+     * @throws IllegalArgumentException se o cursor for inválido.
+     */
+    public static UserChangesCursor parse(String value) {
+        if (value == null || value.isBlank()) {
+            return START;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(':');
+            long epochMicros = Long.parseLong(decoded.substring(0, separator));
+            Instant updatedAt = Instant.EPOCH.plus(epochMicros, ChronoUnit.MICROS);
+            return new UserChangesCursor(updatedAt, decoded.substring(separator + 1));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + value);
+        }
+    }
+
+    /**
+     * @return O cursor codificado, a ser enviado em {@code since} na próxima leitura.
+     */
+    public String encode() {
+        long epochMicros = ChronoUnit.MICROS.between(Instant.EPOCH, updatedAt);
+        String raw = epochMicros + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,16 @@
+package com.sistemaEventos.servico_usuarios.dto;
+
+import java.util.List;
+
+/**
+ * Uma página do feed de alterações de usuários.
+ *
+ * @param changes As alterações, em ordem de ({@code updatedAt}, {@code id}).
+ * @param nextCursor O cursor a ser enviado em {@code since} na próxima leitura.
+ * @param hasMore {@code true} se já houver mais alterações a serem lidas.
+ */
+public record UserChangesPageDTO(
+        List<UserChangeDTO> changes,
+        String nextCursor,
+        boolean hasMore
+) {}
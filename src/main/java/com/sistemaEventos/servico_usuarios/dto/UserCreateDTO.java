@@ -20,4 +20,13 @@ public record UserCreateDTO(
                 user.getBirthDate()
         );
     }
+
+    @Override
+    public String toString() {
+        return "UserCreateDTO[cpf=" + cpf +
+                ", fullname=" + fullname +
+                ", email=" + email +
+                ", password=[PROTEGIDO]" +
+                ", birth_date=" + birth_date + "]";
+    }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.sistemaEventos.servico_usuarios.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.sistemaEventos.servico_usuarios.model.UserEvent;
+import com.sistemaEventos.servico_usuarios.model.UserEventType;
+
+import java.time.Instant;
+
+/**
+ * Um evento de alteração de usuário, como entregue aos consumidores.
+ * <p>
+ * O campo {@code user} é o JSON gravado no outbox (formato do {@link UserResponseDTO}),
+ * escrito sem nova serialização; é nulo nos eventos de exclusão.
+ */
+public record UserEventDTO(
+        long offset,
+        UserEventType type,
+        String userId,
+        Instant occurredAt,
+        @JsonRawValue String user
+) {
+    public UserEventDTO(UserEvent event) {
+        this(
+                event.getId(),
+                event.getType(),
+                event.getUserId(),
+                event.getCreatedAt(),
+                event.getPayload()
+        );
+    }
+}
@@ -0,0 +1,14 @@
+package com.sistemaEventos.servico_usuarios.dto;
+
+import java.util.List;
+
+/**
+ * Uma página do feed de eventos de usuário.
+ *
+ * @param events Os eventos, em ordem crescente de offset.
+ * @param nextOffset O offset a ser enviado em {@code after} na próxima leitura.
+ */
+public record UserEventPageDTO(
+        List<UserEventDTO> events,
+        long nextOffset
+) {}
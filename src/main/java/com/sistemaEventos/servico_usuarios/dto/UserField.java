@@ -0,0 +1,63 @@
+package com.sistemaEventos.servico_usuarios.dto;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Campos que podem ser selecionados na representação enxuta do usuário
+ * ({@link UserLeanResponseDTO}) através do parâmetro {@code ?fields=}.
+ */
+public enum UserField {
+    ID("id"),
+    ROLES("roles"),
+    CPF("cpf"),
+    FULLNAME("fullname"),
+    EMAIL("email"),
+    BIRTH_DATE("birthDate"),
+    COMPLETE("complete"),
+    CREATED_AT("createdAt");
+
+    /**
+     * O nome do campo no JSON.
+     */
+    private final String jsonName;
+
+    UserField(String jsonName) {
+        this.jsonName = jsonName;
+    }
+
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    /**
+     * Converte o parâmetro {@code fields} (ex: "id,email") no conjunto de campos.
+     * Os valores {@code "*"} e {@code "all"} (ou um parâmetro vazio) selecionam todos os campos.
+     *
+     * @param fields A lista de campos separada por vírgulas.
+     * @return O conjunto de campos selecionados.
+     * @throws IllegalArgumentException se algum campo não existir.
+     */
+    public static Set<UserField> parse(String fields) {
+        if (fields == null || fields.isBlank() || fields.equals("*") || fields.equalsIgnoreCase("all")) {
+            return EnumSet.allOf(UserField.class);
+        }
+
+        EnumSet<UserField> selected = EnumSet.noneOf(UserField.class);
+        for (String name : fields.split(",")) {
+            selected.add(fromJsonName(name.trim()));
+        }
+        return selected;
+    }
+
+    private static UserField fromJsonName(String name) {
+        String normalized = name.toLowerCase(Locale.ROOT);
+        for (UserField field : values()) {
+            if (field.jsonName.toLowerCase(Locale.ROOT).equals(normalized)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Campo desconhecido em 'fields': " + name);
+    }
+}
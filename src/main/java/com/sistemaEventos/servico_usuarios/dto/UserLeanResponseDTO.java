@@ -0,0 +1,53 @@
+package com.sistemaEventos.servico_usuarios.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.sistemaEventos.servico_usuarios.model.Role;
+import com.sistemaEventos.servico_usuarios.model.User;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Representação enxuta de um usuário, usada nas listagens grandes ({@code GET /users?fields=}).
+ * <p>
+ * Diferente do {@link UserResponseDTO}, as roles são apenas os nomes (ex: {@code ["ROLE_USER"]}),
+ * calculados uma única vez na criação do DTO, e somente os campos selecionados em
+ * {@code fields} são escritos. A serialização é feita pelo {@link UserLeanResponseSerializer},
+ * que escreve os campos diretamente, sem reflexão.
+ */
+@JsonSerialize(using = UserLeanResponseSerializer.class)
+public record UserLeanResponseDTO(
+        String id,
+        String[] roles,
+        String cpf,
+        String fullname,
+        String email,
+        LocalDate birthDate,
+        boolean complete,
+        Instant createdAt,
+        Set<UserField> fields
+) {
+    public UserLeanResponseDTO(User user, Set<UserField> fields) {
+        this(
+                user.getId(),
+                fields.contains(UserField.ROLES) ? roleNames(user.getRoles()) : null,
+                user.getCpf() != null ? user.getCpf().getCpf() : null,
+                user.getFullname(),
+                user.getEmail(),
+                user.getBirthDate(),
+                user.isComplete(),
+                user.getCreatedAt(),
+                fields
+        );
+    }
+
+    private static String[] roleNames(Set<Role> roles) {
+        String[] names = new String[roles.size()];
+        int i = 0;
+        for (Role role : roles) {
+            names[i++] = role.getName();
+        }
+        return names;
+    }
+}
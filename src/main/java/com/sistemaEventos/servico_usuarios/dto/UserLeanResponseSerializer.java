@@ -0,0 +1,77 @@
+package com.sistemaEventos.servico_usuarios.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Serializador escrito à mão para o {@link UserLeanResponseDTO}.
+ * <p>
+ * Escreve apenas os campos selecionados, com os nomes já pré-codificados
+ * ({@link SerializedString}), evitando a introspecção e a reflexão do Jackson.
+ * Datas seguem o mesmo formato ISO-8601 usado pelo Spring Boot nos demais DTOs.
+ */
+public class UserLeanResponseSerializer extends StdSerializer<UserLeanResponseDTO> {
+    private static final SerializableString[] NAMES = new SerializableString[UserField.values().length];
+
+    static {
+        for (UserField field : UserField.values()) {
+            NAMES[field.ordinal()] = new SerializedString(field.getJsonName());
+        }
+    }
+
+    public UserLeanResponseSerializer() {
+        super(UserLeanResponseDTO.class);
+    }
+
+    @Override
+    public void serialize(UserLeanResponseDTO dto, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        Set<UserField> fields = dto.fields();
+        gen.writeStartObject(dto);
+
+        if (fields.contains(UserField.ID)) {
+            gen.writeFieldName(NAMES[UserField.ID.ordinal()]);
+            gen.writeString(dto.id());
+        }
+        if (fields.contains(UserField.ROLES)) {
+            gen.writeFieldName(NAMES[UserField.ROLES.ordinal()]);
+            String[] roles = dto.roles();
+            gen.writeArray(roles, 0, roles.length);
+        }
+        if (fields.contains(UserField.CPF)) {
+            writeNullableString(gen, UserField.CPF, dto.cpf());
+        }
+        if (fields.contains(UserField.FULLNAME)) {
+            writeNullableString(gen, UserField.FULLNAME, dto.fullname());
+        }
+        if (fields.contains(UserField.EMAIL)) {
+            writeNullableString(gen, UserField.EMAIL, dto.email());
+        }
+        if (fields.contains(UserField.BIRTH_DATE)) {
+            writeNullableString(gen, UserField.BIRTH_DATE, dto.birthDate() != null ? dto.birthDate().toString() : null);
+        }
+        if (fields.contains(UserField.COMPLETE)) {
+            gen.writeFieldName(NAMES[UserField.COMPLETE.ordinal()]);
+            gen.writeBoolean(dto.complete());
+        }
+        if (fields.contains(UserField.CREATED_AT)) {
+            writeNullableString(gen, UserField.CREATED_AT, dto.createdAt() != null ? dto.createdAt().toString() : null);
+        }
+
+        gen.writeEndObject();
+    }
+
+    private static void writeNullableString(JsonGenerator gen, UserField field, String value) throws IOException {
+        gen.writeFieldName(NAMES[field.ordinal()]);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+}
@@ -12,4 +12,9 @@ public record UserLoginDTO(
                 user.getPassword()
         );
     }
+
+    @Override
+    public String toString() {
+        return "UserLoginDTO[email=" + email + ", password=[PROTEGIDO]]";
+    }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.sistemaEventos.servico_usuarios.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posição na busca de usuários no banco: a fase (usuários encontrados pelo e-mail e, depois,
+ * pelo nome) e o par ({@code key}, {@code id}) do último usuário entregue nessa fase.
+ * <p>
+ * É trafegado como texto opaco: {@value #SOURCE} seguido do Base64 URL-safe de
+ * {@code "<fase>:<id>:<key>"}. O prefixo identifica a origem do cursor, já que a busca pelo
+ * índice textual ({@link com.sistemaEventos.servico_usuarios.search.UserSearchIndex}) usa o
+ * mesmo parâmetro {@code cursor} com outro formato.
+ */
+public record UserSearchCursor(
+        Phase phase,
+        String key,
+        String id
+) {
+    /**
+     * Prefixo dos cursores da busca no banco.
+     */
+    public static final String SOURCE = "db.";
+
+    /**
+     * A fase da busca. Cada fase percorre um único índice, em ordem.
+     */
+    public enum Phase {
+        /**
+         * Usuários cujo e-mail corresponde ao termo, em ordem de e-mail.
+         */
+        EMAIL,
+        /**
+         * Usuários cujo nome (mas não o e-mail) corresponde ao termo, em ordem de nome.
+         */
+        FULLNAME
+    }
+
+    /**
+     * Lê o cursor recebido do cliente.
+     *
+     * @param value O cursor codificado, ou {@code null}/vazio para a primeira página.
+     * @param start A posição inicial de cada fase (ex: o prefixo buscado).
+     * @return O cursor decodificado.
+     * @throws IllegalArgumentException se o cursor for inválido ou de outra origem.
+     */
+    public static UserSearchCursor parse(String value, String start) {
+        if (value == null || value.isBlank()) {
+            return new UserSearchCursor(Phase.EMAIL, start, "");
+        }
+        if (!value.startsWith(SOURCE)) {
+            throw new IllegalArgumentException("Cursor inválido: " + value);
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value.substring(SOURCE.length())),
+                    StandardCharsets.UTF_8);
+            int first = decoded.indexOf(':');
+            int second = decoded.indexOf(':', first + 1);
+            Phase phase = decoded.charAt(0) == 'N' && first == 1 ? Phase.FULLNAME
+                    : decoded.charAt(0) == 'E' && first == 1 ? Phase.EMAIL : null;
+            if (phase == null || second < 0) {
+                throw new IllegalArgumentException();
+            }
+            return new UserSearchCursor(phase, decoded.substring(second + 1), decoded.substring(first + 1, second));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + value);
+        }
+    }
+
+    /**
+     * @return O cursor codificado, a ser enviado em {@code cursor} na próxima página.
+     */
+    public String encode() {
+        String raw = (phase == Phase.EMAIL ? "E" : "N") + ":" + id + ":" + key;
+        return SOURCE + Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,17 @@
+package com.sistemaEventos.servico_usuarios.dto;
+
+import com.sistemaEventos.servico_usuarios.model.CPF;
+
+import java.time.Instant;
+
+/**
+ * Projeção de um usuário com apenas os campos indexados pela busca textual
+ * (sem roles nem senha), usada para montar e atualizar o índice de busca.
+ */
+public record UserSearchDocumentDTO(
+        String id,
+        String fullname,
+        String email,
+        CPF cpf,
+        Instant deletedAt
+) {}
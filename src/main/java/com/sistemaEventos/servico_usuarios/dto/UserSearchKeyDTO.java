@@ -0,0 +1,10 @@
+package com.sistemaEventos.servico_usuarios.dto;
+
+/**
+ * Um resultado da busca de usuários no banco: o ID e a chave de ordenação
+ * (e-mail ou nome em minúsculas), usada para montar o cursor da próxima página.
+ */
+public record UserSearchKeyDTO(
+        String id,
+        String key
+) {}
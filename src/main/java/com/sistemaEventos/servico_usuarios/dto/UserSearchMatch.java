@@ -0,0 +1,36 @@
+package com.sistemaEventos.servico_usuarios.dto;
+
+import java.util.Locale;
+
+/**
+ * Modo de comparação da busca de usuários por nome/e-mail.
+ */
+public enum UserSearchMatch {
+    /**
+     * O nome ou o e-mail começa com o termo (ex: {@code ana} encontra "Ana Souza").
+     */
+    PREFIX,
+    /**
+     * O nome ou o e-mail contém o termo em qualquer posição (ex: {@code souza} encontra
+     * "Ana Souza"). Exige ao menos 3 caracteres, o tamanho dos trigramas do índice.
+     */
+    CONTAINS;
+
+    /**
+     * Converte o parâmetro {@code match} da requisição (sem diferenciar maiúsculas e minúsculas).
+     *
+     * @param value O valor informado ({@code null} ou vazio para {@link #PREFIX}).
+     * @return O modo de comparação.
+     * @throws IllegalArgumentException se o modo não existir.
+     */
+    public static UserSearchMatch parse(String value) {
+        if (value == null || value.isBlank()) {
+            return PREFIX;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Modo de busca desconhecido: " + value + " (use PREFIX ou CONTAINS).");
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.sistemaEventos.servico_usuarios.dto;
+
+import java.util.List;
+
+/**
+ * Uma página do resultado da busca de usuários por nome/e-mail.
+ *
+ * @param users Os usuários encontrados: pelo e-mail (em ordem de e-mail) e depois pelo nome
+ *              (em ordem de nome), ou por relevância com o índice textual.
+ * @param nextCursor O cursor a ser enviado em {@code cursor} para a próxima página,
+ *                   ou {@code null} se esta for a última.
+ */
+public record UserSearchPageDTO(
+        List<UserResponseDTO> users,
+        String nextCursor
+) {}
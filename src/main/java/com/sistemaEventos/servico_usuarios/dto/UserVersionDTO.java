@@ -0,0 +1,13 @@
+package com.sistemaEventos.servico_usuarios.dto;
+
+import java.time.Instant;
+
+/**
+ * Projeção mínima de um usuário: apenas o ID e o instante da última alteração.
+ * <p>
+ * Suficiente para calcular o ETag sem carregar a entidade completa (e suas roles).
+ */
+public record UserVersionDTO(
+        String id,
+        Instant updatedAt
+) {}
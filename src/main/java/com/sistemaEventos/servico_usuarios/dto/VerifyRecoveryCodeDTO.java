@@ -3,4 +3,9 @@ package com.sistemaEventos.servico_usuarios.dto;
 public record VerifyRecoveryCodeDTO(
         String email,
         String code
-) {}
+) {
+    @Override
+    public String toString() {
+        return "VerifyRecoveryCodeDTO[email=" + email + ", code=[PROTEGIDO]]";
+    }
+}
@@ -0,0 +1,21 @@
+package com.sistemaEventos.servico_usuarios.event;
+
+import com.sistemaEventos.servico_usuarios.model.User;
+import com.sistemaEventos.servico_usuarios.model.UserEventType;
+
+/**
+ * Evento de aplicação publicado junto com cada registro do outbox, para os componentes
+ * locais que precisam reagir às alterações de usuário (ex: o índice de busca).
+ * <p>
+ * Deve ser consumido com {@code @TransactionalEventListener}, para só ser processado
+ * após o commit da alteração.
+ *
+ * @param type O tipo da alteração.
+ * @param userId O ID (UUID) do usuário.
+ * @param user O usuário após a alteração, ou {@code null} na exclusão.
+ */
+public record UserChangedEvent(
+        UserEventType type,
+        String userId,
+        User user
+) {}
@@ -0,0 +1,62 @@
+package com.sistemaEventos.servico_usuarios.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sistemaEventos.servico_usuarios.dto.UserResponseDTO;
+import com.sistemaEventos.servico_usuarios.model.User;
+import com.sistemaEventos.servico_usuarios.model.UserEvent;
+import com.sistemaEventos.servico_usuarios.model.UserEventType;
+import com.sistemaEventos.servico_usuarios.repository.UserEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Grava os eventos de alteração de usuário no outbox ({@link UserEvent}).
+ * <p>
+ * Deve ser chamado dentro da transação que altera o usuário ({@link Propagation#MANDATORY}):
+ * o evento só existe se a alteração for confirmada. Cada registro também é publicado como
+ * {@link UserChangedEvent} para os consumidores locais.
+ */
+@Component
+public class UserEventOutbox {
+    @Autowired
+    private UserEventRepository userEventRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    /**
+     * Registra um evento com o estado atual do usuário.
+     *
+     * @param type O tipo da alteração.
+     * @param user O usuário após a alteração.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(UserEventType type, User user) {
+        userEventRepository.save(new UserEvent(user.getId(), type, toJson(user)));
+        applicationEventPublisher.publishEvent(new UserChangedEvent(type, user.getId(), user));
+    }
+
+    /**
+     * Registra a exclusão de um usuário (evento sem payload).
+     *
+     * @param userId O ID (UUID) do usuário excluído.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(String userId) {
+        userEventRepository.save(new UserEvent(userId, UserEventType.DELETED, null));
+        applicationEventPublisher.publishEvent(new UserChangedEvent(UserEventType.DELETED, userId, null));
+    }
+
+    private String toJson(User user) {
+        try {
+            return objectMapper.writeValueAsString(new UserResponseDTO(user));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Erro ao serializar o evento do usuário " + user.getId(), e);
+        }
+    }
+}
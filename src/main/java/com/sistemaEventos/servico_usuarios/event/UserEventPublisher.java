@@ -0,0 +1,25 @@
+package com.sistemaEventos.servico_usuarios.event;
+
+import com.sistemaEventos.servico_usuarios.dto.UserEventDTO;
+
+import java.util.List;
+
+/**
+ * Ponto de extensão opcional para entregar os eventos do outbox a um sistema externo
+ * (ex: Kafka, RabbitMQ, webhook).
+ * <p>
+ * O serviço funciona sem nenhuma implementação: os consumidores leem os eventos
+ * diretamente pelo feed {@code /users/events}. Quando existe ao menos um bean deste tipo,
+ * o {@link UserEventRelay} entrega os eventos pendentes em lotes e os marca como publicados.
+ * A entrega é "at-least-once": em caso de falha, o lote é reenviado. Cada lote está em ordem,
+ * mas lotes diferentes podem chegar fora de ordem (várias instâncias publicam em paralelo).
+ */
+public interface UserEventPublisher {
+    /**
+     * Publica um lote de eventos, em ordem crescente de offset.
+     *
+     * @param events Os eventos a serem publicados.
+     * @throws Exception se a publicação falhar; o lote será tentado novamente.
+     */
+    void publish(List<UserEventDTO> events) throws Exception;
+}
@@ -0,0 +1,86 @@
+package com.sistemaEventos.servico_usuarios.event;
+
+import com.sistemaEventos.servico_usuarios.dto.UserEventDTO;
+import com.sistemaEventos.servico_usuarios.model.UserEvent;
+import com.sistemaEventos.servico_usuarios.repository.UserEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entrega os eventos pendentes do outbox aos {@link UserEventPublisher}s configurados.
+ * <p>
+ * Sem nenhum publicador registrado, não faz nada. A cada execução, bloqueia um lote de
+ * eventos não publicados ({@code SKIP LOCKED}), entrega-o a todos os publicadores e marca os
+ * eventos como publicados na mesma transação. Se algum publicador falhar, a transação é
+ * desfeita e o lote é reenviado na próxima execução.
+ * <p>
+ * Os eventos de um lote estão em ordem, mas os lotes não: com várias instâncias, cada uma
+ * bloqueia e publica um lote diferente ao mesmo tempo, e um lote reenviado após uma falha
+ * chega depois de lotes posteriores. Os publicadores devem ordenar e descartar repetições pelo
+ * offset (ou pela versão do usuário) quando a ordem importar.
+ */
+@Component
+public class UserEventRelay {
+    private static final Logger log = LoggerFactory.getLogger(UserEventRelay.class);
+
+    @Autowired
+    private UserEventRepository userEventRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired(required = false)
+    private List<UserEventPublisher> publishers = List.of();
+
+    @Value("${servico-usuarios.events.relay-batch-size:200}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${servico-usuarios.events.relay-interval-ms:1000}")
+    public void relay() {
+        if (publishers.isEmpty()) {
+            return;
+        }
+
+        try {
+            Integer published;
+            do {
+                published = transactionTemplate.execute(status -> publishBatch());
+            } while (published != null && published == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao publicar eventos de usuário; o lote será reenviado.", e);
+        }
+    }
+
+    private int publishBatch() {
+        List<UserEvent> events = userEventRepository.lockUnpublished(Limit.of(batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        List<UserEventDTO> dtos = new ArrayList<>(events.size());
+        for (UserEvent event : events) {
+            dtos.add(new UserEventDTO(event));
+        }
+        for (UserEventPublisher publisher : publishers) {
+            try {
+                publisher.publish(dtos);
+            } catch (Exception e) {
+                throw new IllegalStateException("Publicador " + publisher.getClass().getSimpleName() + " falhou.", e);
+            }
+        }
+
+        Instant now = Instant.now();
+        for (UserEvent event : events) {
+            event.setPublishedAt(now);
+        }
+        return events.size();
+    }
+}
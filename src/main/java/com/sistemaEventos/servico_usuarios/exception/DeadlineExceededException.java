@@ -0,0 +1,21 @@
+package com.sistemaEventos.servico_usuarios.exception;
+
+/**
+ * Lançada quando o prazo da requisição (informado pelo API Gateway) termina antes de uma
+ * etapa cara (hash de senha, consulta ao banco): o gateway já desistiu da resposta.
+ */
+public class DeadlineExceededException extends RuntimeException {
+    private final String stage;
+
+    public DeadlineExceededException(String stage) {
+        super("O prazo da requisição foi excedido.");
+        this.stage = stage;
+    }
+
+    /**
+     * @return A etapa em que o prazo foi verificado (ex: {@code hash}, {@code query}).
+     */
+    public String getStage() {
+        return stage;
+    }
+}
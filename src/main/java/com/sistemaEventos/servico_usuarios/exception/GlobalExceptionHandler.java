@@ -1,5 +1,8 @@
 package com.sistemaEventos.servico_usuarios.exception;
 
+import com.sistemaEventos.servico_usuarios.web.RequestDeadlineFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -12,6 +15,12 @@ import java.time.Instant;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
+    private final MeterRegistry meterRegistry;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ApiErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
         // Pega a mensagem definida na origem da exceção
@@ -121,6 +130,38 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
     }
 
+    @ExceptionHandler(RequestInProgressException.class)
+    public ResponseEntity<ApiErrorResponse> handleRequestInProgress(RequestInProgressException ex) {
+        String errorMessage = ex.getMessage();
+        ApiErrorResponse response = new ApiErrorResponse(
+                HttpStatus.CONFLICT,
+                errorMessage,
+                Instant.now()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<ApiErrorResponse> handleDeadlineExceeded(DeadlineExceededException ex) {
+        return deadlineExceeded(ex.getStage(), ex.getMessage());
+    }
+
+    // Comando SQL cancelado pelo driver ao fim do timeout (prazo restante da requisição)
+    @ExceptionHandler(QueryTimeoutException.class)
+    public ResponseEntity<ApiErrorResponse> handleQueryTimeout(QueryTimeoutException ex) {
+        return deadlineExceeded("query", "O prazo da requisição foi excedido.");
+    }
+
+    private ResponseEntity<ApiErrorResponse> deadlineExceeded(String stage, String errorMessage) {
+        meterRegistry.counter(RequestDeadlineFilter.EXCEEDED_METRIC, "stage", stage).increment();
+        ApiErrorResponse response = new ApiErrorResponse(
+                HttpStatus.GATEWAY_TIMEOUT,
+                errorMessage,
+                Instant.now()
+        );
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(response);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiErrorResponse> handleGenericException(Exception ex) {
         String errorMessage = "Ocorreu um erro interno no servidor.\n"+ex.getMessage();
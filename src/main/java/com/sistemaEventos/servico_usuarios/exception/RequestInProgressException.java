@@ -0,0 +1,7 @@
+package com.sistemaEventos.servico_usuarios.exception;
+
+public class RequestInProgressException extends RuntimeException {
+    public RequestInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,31 @@
+package com.sistemaEventos.servico_usuarios.grpc;
+
+import com.sistemaEventos.servico_usuarios.exception.CpfAlreadyExistsException;
+import com.sistemaEventos.servico_usuarios.exception.CpfInvalidException;
+import com.sistemaEventos.servico_usuarios.exception.EmailAlreadyExistsException;
+import com.sistemaEventos.servico_usuarios.exception.UserNotFoundException;
+import io.grpc.Status;
+import net.devh.boot.grpc.server.advice.GrpcAdvice;
+import net.devh.boot.grpc.server.advice.GrpcExceptionHandler;
+
+/**
+ * Equivalente gRPC do {@code GlobalExceptionHandler}: converte as exceções de negócio
+ * nos status gRPC correspondentes aos códigos HTTP da API REST.
+ */
+@GrpcAdvice
+public class GrpcExceptionAdvice {
+    @GrpcExceptionHandler(UserNotFoundException.class)
+    public Status handleUserNotFound(UserNotFoundException ex) {
+        return Status.NOT_FOUND.withDescription(ex.getMessage());
+    }
+
+    @GrpcExceptionHandler({CpfAlreadyExistsException.class, EmailAlreadyExistsException.class})
+    public Status handleAlreadyExists(RuntimeException ex) {
+        return Status.ALREADY_EXISTS.withDescription(ex.getMessage());
+    }
+
+    @GrpcExceptionHandler({CpfInvalidException.class, IllegalArgumentException.class})
+    public Status handleInvalidArgument(RuntimeException ex) {
+        return Status.INVALID_ARGUMENT.withDescription(ex.getMessage());
+    }
+}
@@ -0,0 +1,82 @@
+package com.sistemaEventos.servico_usuarios.grpc;
+
+import com.sistemaEventos.servico_usuarios.dto.UserSyncDTO;
+import com.sistemaEventos.servico_usuarios.exception.UserNotFoundException;
+import com.sistemaEventos.servico_usuarios.grpc.proto.BatchResolveRequest;
+import com.sistemaEventos.servico_usuarios.grpc.proto.GetUserByCpfRequest;
+import com.sistemaEventos.servico_usuarios.grpc.proto.GetUserByIdRequest;
+import com.sistemaEventos.servico_usuarios.grpc.proto.ResolvedUser;
+import com.sistemaEventos.servico_usuarios.grpc.proto.SyncUserRequest;
+import com.sistemaEventos.servico_usuarios.grpc.proto.UserLookupServiceGrpc;
+import com.sistemaEventos.servico_usuarios.grpc.proto.UserMessage;
+import com.sistemaEventos.servico_usuarios.model.CPF;
+import com.sistemaEventos.servico_usuarios.model.User;
+import com.sistemaEventos.servico_usuarios.service.UserService;
+import io.grpc.stub.StreamObserver;
+import net.devh.boot.grpc.server.service.GrpcService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementação gRPC da API interna de consulta de usuários ({@code user_lookup.proto}).
+ * <p>
+ * Destinada às chamadas entre serviços descobertos via Eureka, evitando o custo de
+ * serialização/parse de JSON e reduzindo o tamanho das respostas. As regras de negócio
+ * são as mesmas do {@link UserService}; os erros são convertidos em status gRPC pelo
+ * {@link GrpcExceptionAdvice}.
+ */
+@GrpcService
+public class UserLookupGrpcService extends UserLookupServiceGrpc.UserLookupServiceImplBase {
+    @Autowired
+    private UserService userService;
+
+    @Override
+    public void getUserById(GetUserByIdRequest request, StreamObserver<UserMessage> responseObserver) {
+        // Chamada interna: usa o caminho em lote, que aproveita o cache de consultas
+        User user = userService.resolveUsers(List.of(request.getId()), null).get(request.getId());
+        if (user == null) {
+            throw new UserNotFoundException("Usuário com ID " + request.getId() + " não encontrado.");
+        }
+
+        responseObserver.onNext(UserProtoMapper.toProto(user));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void getUserByCpf(GetUserByCpfRequest request, StreamObserver<UserMessage> responseObserver) {
+        User user = userService.findByCpf(request.getCpf());
+
+        responseObserver.onNext(UserProtoMapper.toProto(user));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void batchResolve(BatchResolveRequest request, StreamObserver<ResolvedUser> responseObserver) {
+        Map<String, User> users = userService.resolveUsers(request.getIdsList(), request.getCpfsList());
+
+        for (Map.Entry<String, User> entry : users.entrySet()) {
+            responseObserver.onNext(ResolvedUser.newBuilder()
+                    .setKey(entry.getKey())
+                    .setUser(UserProtoMapper.toProto(entry.getValue()))
+                    .build());
+        }
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void syncUser(SyncUserRequest request, StreamObserver<UserMessage> responseObserver) {
+        UserSyncDTO dto = new UserSyncDTO(
+                new CPF(request.getCpf()),
+                request.hasFullname() ? request.getFullname() : null,
+                request.getEmail(),
+                Instant.ofEpochMilli(request.getCreatedAtEpochMillis())
+        );
+        User user = userService.createSyncUser(dto);
+
+        responseObserver.onNext(UserProtoMapper.toProto(user));
+        responseObserver.onCompleted();
+    }
+}
@@ -0,0 +1,38 @@
+package com.sistemaEventos.servico_usuarios.grpc;
+
+import com.sistemaEventos.servico_usuarios.grpc.proto.UserMessage;
+import com.sistemaEventos.servico_usuarios.model.Role;
+import com.sistemaEventos.servico_usuarios.model.User;
+
+/**
+ * Converte a entidade {@link User} na mensagem protobuf {@link UserMessage}.
+ * <p>
+ * Segue os mesmos campos do {@code UserResponseDTO}, mas com as roles reduzidas
+ * aos nomes e as datas em representação numérica.
+ */
+final class UserProtoMapper {
+    private UserProtoMapper() {}
+
+    static UserMessage toProto(User user) {
+        UserMessage.Builder builder = UserMessage.newBuilder()
+                .setId(user.getId())
+                .setCpf(user.getCpf().getCpf())
+                .setEmail(user.getEmail())
+                .setComplete(user.isComplete());
+
+        for (Role role : user.getRoles()) {
+            builder.addRoles(role.getName());
+        }
+        if (user.getFullname() != null) {
+            builder.setFullname(user.getFullname());
+        }
+        if (user.getBirthDate() != null) {
+            builder.setBirthDateEpochDay((int) user.getBirthDate().toEpochDay());
+        }
+        if (user.getCreatedAt() != null) {
+            builder.setCreatedAtEpochMillis(user.getCreatedAt().toEpochMilli());
+        }
+
+        return builder.build();
+    }
+}
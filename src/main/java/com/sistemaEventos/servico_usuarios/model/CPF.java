@@ -65,6 +65,36 @@ public class CPF {
         return formatCpf(cpf);
     }
 
+    /**
+     * Retorna o CPF mascarado (ex: "***.***.***-09"), mantendo apenas os dígitos verificadores.
+     * <p>
+     * Usado em logs e em qualquer {@code toString()} que inclua um CPF, evitando
+     * expor o documento completo.
+     *
+     * @return O CPF mascarado.
+     */
+    @Override
+    public String toString() {
+        return "***.***.***-" + cpf.substring(9, 11);
+    }
+
+    /**
+     * Dois CPFs são iguais quando têm os mesmos dígitos.
+     * <p>
+     * Necessário também para o Hibernate: sem igualdade por valor, o CPF relido do banco
+     * nunca seria igual à cópia guardada no carregamento, e todo usuário carregado seria
+     * considerado alterado (gerando um UPDATE completo a cada flush).
+     */
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof CPF that && cpf.equals(that.cpf));
+    }
+
+    @Override
+    public int hashCode() {
+        return cpf.hashCode();
+    }
+
     /**
      * Método auxiliar privado para formatar a string do CPF.
      *
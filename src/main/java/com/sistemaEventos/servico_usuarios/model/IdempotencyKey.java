@@ -0,0 +1,114 @@
+package com.sistemaEventos.servico_usuarios.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * Chave de idempotência ({@code Idempotency-Key}) já usada e a resposta da execução original.
+ * <p>
+ * Gravada na mesma transação da ação (ex: a criação do usuário): ou a ação e a chave são
+ * confirmadas juntas, ou nenhuma delas. A chave primária única garante que, entre todas as
+ * instâncias do serviço, apenas uma execução por chave seja confirmada.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        // Remoção das chaves expiradas (IdempotencyKeyRepository#deleteCreatedBefore)
+        @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at")
+})
+public class IdempotencyKey implements Persistable<String> {
+    /**
+     * O endpoint e a chave informada pelo cliente ({@code escopo:chave}).
+     */
+    @Id
+    @Column(name = "id", nullable = false, updatable = false, length = 300)
+    private String id;
+
+    /**
+     * O hash SHA-256 do corpo da requisição original, para detectar a reutilização da chave
+     * com outro conteúdo.
+     */
+    @Column(name = "fingerprint", nullable = false, updatable = false, length = 32)
+    private byte[] fingerprint;
+
+    /**
+     * O status HTTP da resposta original. Nulo apenas dentro da transação que executa a ação.
+     */
+    @Column(name = "status")
+    private Integer status;
+
+    /**
+     * O corpo da resposta original, em JSON.
+     */
+    @Column(name = "body", columnDefinition = "text")
+    private String body;
+
+    /**
+     * Momento em que a chave foi usada.
+     */
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    /**
+     * Indica se a chave ainda não foi gravada no banco. Não é persistido: com ele, o {@code save}
+     * faz o INSERT direto (sem o SELECT do {@code merge}) e uma chave repetida falha na chave primária.
+     */
+    @Transient
+    private boolean isNew = true;
+
+    /**
+     * Construtor padrão (sem argumentos) exigido pelo JPA.
+     */
+    public IdempotencyKey() {}
+
+    public IdempotencyKey(String id, byte[] fingerprint) {
+        this.id = id;
+        this.fingerprint = fingerprint;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Usado pelo Spring Data para escolher entre {@code persist} e {@code merge} no {@code save}.
+     *
+     * @return {@code true} se a chave ainda não tiver sido gravada.
+     */
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    //Getters e Setters
+    public byte[] getFingerprint() {
+        return fingerprint;
+    }
+
+    public Integer getStatus() {
+        return status;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setResponse(int status, String body) {
+        this.status = status;
+        this.body = body;
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.Persistable;
 
 import java.time.Instant;
 import java.time.LocalDate;
@@ -21,13 +22,21 @@ import java.util.Set;
  * {@link SQLDelete}. Quando um 'delete' é executado (ex: via {@link UserRepository#deleteById}),
  * o Hibernate irá, em vez disso, executar o SQL customizado, preenchendo o campo {@code deletedAt}
  * e preservando o registro no banco de dados.
+ * <p>
+ * O ID (UUID) é atribuído pela aplicação; por isso a entidade implementa {@link Persistable}:
+ * um usuário recém-criado é salvo com {@code persist} (um INSERT direto), em vez do {@code merge}
+ * que o Spring Data usaria para um ID já preenchido (um SELECT antes do INSERT).
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        // Paginação por keyset do feed de alterações (UserRepository#findChangedVersionsAfter)
+        @Index(name = "idx_users_updated_at_id", columnList = "updated_at, id")
+})
 //Intercepta qualquer chamada de 'delete' e roda este SQL
-@SQLDelete(sql = "UPDATE users SET deleted_at = NOW() WHERE id = ?")
+//(updated_at também muda, para a exclusão aparecer no feed de alterações)
+@SQLDelete(sql = "UPDATE users SET deleted_at = NOW(), updated_at = NOW() WHERE id = ?")
 
-public class User {
+public class User implements Persistable<String> {
     /**
      * O identificador único (UUID) do usuário.
      */
@@ -118,11 +127,34 @@ public class User {
     )
     private Set<Role> roles = new HashSet<>();
 
+    /**
+     * Indica se o usuário ainda não foi gravado no banco. Não é persistido: passa a
+     * {@code false} quando a entidade é inserida ou carregada.
+     */
+    @Transient
+    private boolean isNew = true;
+
     /**
      * Construtor padrão (sem argumentos) exigido pelo JPA.
      */
     public User() {}
 
+    /**
+     * Usado pelo Spring Data para escolher entre {@code persist} e {@code merge} no {@code save}.
+     *
+     * @return {@code true} se o usuário ainda não tiver sido gravado.
+     */
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
     /**
      * Retorna uma representação em String segura do objeto User,
      * omitindo a senha para evitar exposição em logs.
@@ -133,7 +165,7 @@ public class User {
     public String toString() {
         return "User{" +
                 "id=" + id +
-                ", cpf=" + (cpf != null ? cpf.getCpf() : "null") +
+                ", cpf=" + cpf +
                 ", fullname='" + fullname + '\'' +
                 ", email='" + email + '\'' +
                 ", password='[PROTEGIDO]'" +
@@ -145,6 +177,7 @@ public class User {
     }
 
     //Getters e Setters
+    @Override
     public String getId() {
         return id;
     }
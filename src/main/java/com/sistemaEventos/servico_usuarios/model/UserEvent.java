@@ -0,0 +1,101 @@
+package com.sistemaEventos.servico_usuarios.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+
+/**
+ * Evento de alteração de usuário gravado no "transactional outbox".
+ * <p>
+ * Cada evento é inserido na mesma transação da alteração do usuário, garantindo que
+ * nenhuma alteração confirmada fique sem evento (e vice-versa). O {@code id} sequencial
+ * funciona como offset: os consumidores guardam o último offset lido e pedem apenas
+ * os eventos posteriores.
+ */
+@Entity
+@Table(name = "user_events", indexes = {
+        @Index(name = "idx_user_events_unpublished", columnList = "published_at, id")
+})
+public class UserEvent {
+    /**
+     * Offset do evento (sequencial e crescente).
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * O ID (UUID) do usuário alterado.
+     */
+    @Column(name = "user_id", nullable = false, length = 36)
+    private String userId;
+
+    /**
+     * O tipo da alteração.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 20)
+    private UserEventType type;
+
+    /**
+     * O estado do usuário após a alteração, em JSON (mesmo formato do {@code UserResponseDTO}).
+     * Nulo nos eventos de exclusão.
+     */
+    @Column(name = "payload", columnDefinition = "text")
+    private String payload;
+
+    /**
+     * Momento em que o evento foi gravado.
+     */
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    /**
+     * Momento em que o evento foi entregue aos publicadores externos (opcionais).
+     * Nulo enquanto não tiver sido publicado.
+     */
+    @Column(name = "published_at")
+    private Instant publishedAt;
+
+    /**
+     * Construtor padrão (sem argumentos) exigido pelo JPA.
+     */
+    public UserEvent() {}
+
+    public UserEvent(String userId, UserEventType type, String payload) {
+        this.userId = userId;
+        this.type = type;
+        this.payload = payload;
+    }
+
+    //Getters e Setters
+    public Long getId() {
+        return id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public UserEventType getType() {
+        return type;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getPublishedAt() {
+        return publishedAt;
+    }
+
+    public void setPublishedAt(Instant publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+}
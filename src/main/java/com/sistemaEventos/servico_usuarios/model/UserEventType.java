@@ -0,0 +1,17 @@
+package com.sistemaEventos.servico_usuarios.model;
+
+/**
+ * Tipos de evento de alteração de usuário registrados no outbox ({@link UserEvent}).
+ */
+public enum UserEventType {
+    /** Usuário completo criado pelo registro ({@code /auth/register}). */
+    CREATED,
+    /** Usuário parcial criado pela sincronização offline ({@code /users/sync}). */
+    SYNCED,
+    /** Dados do usuário alterados. */
+    UPDATED,
+    /** Usuário excluído (soft delete). */
+    DELETED,
+    /** Senha redefinida pelo fluxo de recuperação. */
+    PASSWORD_RESET
+}
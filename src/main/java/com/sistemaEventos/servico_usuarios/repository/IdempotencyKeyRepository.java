@@ -0,0 +1,26 @@
+package com.sistemaEventos.servico_usuarios.repository;
+
+import com.sistemaEventos.servico_usuarios.model.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+/**
+ * Repositório Spring Data JPA das chaves de idempotência ({@link IdempotencyKey}).
+ */
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+    /**
+     * Remove as chaves usadas antes do instante informado (expiradas).
+     * Deve ser chamado dentro de uma transação.
+     *
+     * @param createdBefore O instante limite.
+     * @return A quantidade de chaves removidas.
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.createdAt < ?1")
+    int deleteCreatedBefore(Instant createdBefore);
+}
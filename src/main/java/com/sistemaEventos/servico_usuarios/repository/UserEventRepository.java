@@ -0,0 +1,48 @@
+package com.sistemaEventos.servico_usuarios.repository;
+
+import com.sistemaEventos.servico_usuarios.model.UserEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repositório Spring Data JPA do outbox de eventos de usuário ({@link UserEvent}).
+ */
+@Repository
+public interface UserEventRepository extends JpaRepository<UserEvent, Long> {
+    /**
+     * Busca os eventos posteriores a um offset, em ordem.
+     * <p>
+     * Como os offsets são alocados antes do commit, o resultado pode ter buracos de transações
+     * ainda em andamento; quem entrega os eventos deve parar no primeiro deles
+     * ({@code OffsetGapTracker}).
+     *
+     * @param after O último offset já lido pelo consumidor.
+     * @param limit Quantidade máxima de eventos.
+     * @return Os eventos, em ordem crescente de offset.
+     */
+    @Query("SELECT e FROM UserEvent e WHERE e.id > ?1 ORDER BY e.id")
+    List<UserEvent> findAfter(long after, Limit limit);
+
+    /**
+     * Busca e bloqueia os próximos eventos ainda não publicados.
+     * <p>
+     * Usa {@code FOR UPDATE SKIP LOCKED}, permitindo que várias instâncias do serviço
+     * publiquem em paralelo sem entregar o mesmo evento duas vezes (os lotes de instâncias
+     * diferentes, portanto, não saem em ordem entre si).
+     *
+     * @param limit Quantidade máxima de eventos.
+     * @return Os eventos pendentes, em ordem crescente de offset.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM UserEvent e WHERE e.publishedAt IS NULL ORDER BY e.id")
+    List<UserEvent> lockUnpublished(Limit limit);
+}
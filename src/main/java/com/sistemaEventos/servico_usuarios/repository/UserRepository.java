@@ -1,13 +1,24 @@
 package com.sistemaEventos.servico_usuarios.repository;
 
+import com.sistemaEventos.servico_usuarios.dto.UserSearchDocumentDTO;
+import com.sistemaEventos.servico_usuarios.dto.UserVersionDTO;
 import com.sistemaEventos.servico_usuarios.model.CPF;
 import com.sistemaEventos.servico_usuarios.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositório Spring Data JPA para a entidade {@link User}.
@@ -20,7 +31,7 @@ import java.util.Optional;
  * de dados inteira para garantir a unicidade dos dados.
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, String> { // JpaRepository<QualEntidade, QualTipoDoID>
+public interface UserRepository extends JpaRepository<User, String>, UserSearchRepository { // JpaRepository<QualEntidade, QualTipoDoID>
     /**
      * Verifica se um {@link CPF} já está registrado em *qualquer* usuário (ativo ou
      * inativo).
@@ -73,11 +84,154 @@ public interface UserRepository extends JpaRepository<User, String> { // JpaRepo
     @Query("SELECT u FROM User u WHERE u.id = ?1 AND u.deletedAt IS NULL")
     Optional<User> findActiveUserById(String id);
 
+    /**
+     * Busca, em um único SELECT, os usuários *ativos* com os IDs informados (com suas roles).
+     *
+     * @param ids Os IDs (UUID) dos usuários.
+     * @return Uma {@link List} com os usuários encontrados (os inexistentes são ignorados).
+     */
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.roles WHERE u.id IN ?1 AND u.deletedAt IS NULL")
+    List<User> findActiveUsersByIdIn(Collection<String> ids);
+
+    /**
+     * Busca, em um único SELECT, os usuários *ativos* com os CPFs informados (com suas roles).
+     *
+     * @param cpfs Os CPFs dos usuários.
+     * @return Uma {@link List} com os usuários encontrados (os inexistentes são ignorados).
+     */
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.roles WHERE u.cpf IN ?1 AND u.deletedAt IS NULL")
+    List<User> findActiveUsersByCpfIn(Collection<CPF> cpfs);
+
+    /**
+     * Busca apenas a versão (ID e {@code updatedAt}) de um usuário *ativo* pelo seu ID.
+     * <p>
+     * Usado nas requisições condicionais ({@code If-None-Match}) para decidir se a resposta
+     * pode ser {@code 304 Not Modified} sem carregar a entidade.
+     *
+     * @param id O ID (UUID) do usuário.
+     * @return Um {@link Optional} com a versão do usuário, ou {@link Optional#empty()} caso contrário.
+     */
+    @Query("SELECT new com.sistemaEventos.servico_usuarios.dto.UserVersionDTO(u.id, u.updatedAt) " +
+            "FROM User u WHERE u.id = ?1 AND u.deletedAt IS NULL")
+    Optional<UserVersionDTO> findActiveUserVersionById(String id);
+
+    /**
+     * Busca apenas a versão (ID e {@code updatedAt}) de um usuário *ativo* pelo seu {@link CPF}.
+     *
+     * @param cpf O CPF do usuário.
+     * @return Um {@link Optional} com a versão do usuário, ou {@link Optional#empty()} caso contrário.
+     */
+    @Query("SELECT new com.sistemaEventos.servico_usuarios.dto.UserVersionDTO(u.id, u.updatedAt) " +
+            "FROM User u WHERE u.cpf = ?1 AND u.deletedAt IS NULL")
+    Optional<UserVersionDTO> findActiveUserVersionByCpf(CPF cpf);
+
     /**
      * Retorna uma lista de todos os usuários *ativos* (deleted_at = false).
+     * <p>
+     * As roles são carregadas no mesmo SELECT ({@code JOIN FETCH}), evitando uma
+     * consulta extra de roles para cada usuário da lista.
      *
      * @return Uma {@link List} de {@link User} ativos.
      */
-    @Query("SELECT u FROM User u WHERE u.deletedAt IS NULL")
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.roles WHERE u.deletedAt IS NULL")
     List<User> findAllActive();
-}
\ No newline at end of file
+
+    /**
+     * Busca os IDs dos usuários *ativos* alterados mais recentemente.
+     * <p>
+     * Usado no aquecimento da instância para pré-carregar o cache de usuários.
+     *
+     * @param limit Quantidade máxima de usuários.
+     * @return Os IDs, do mais recente para o mais antigo.
+     */
+    @Query("SELECT u.id FROM User u WHERE u.deletedAt IS NULL ORDER BY u.updatedAt DESC")
+    List<String> findRecentlyUpdatedActiveIds(Limit limit);
+
+    /**
+     * Busca as versões dos usuários (ativos *ou* excluídos) alterados após a posição
+     * ({@code updatedAt}, {@code id}) informada, em ordem, usando o índice {@code (updated_at, id)}.
+     *
+     * @param updatedAt O {@code updatedAt} do último usuário já entregue.
+     * @param id O ID do último usuário já entregue (desempate entre alterações no mesmo instante).
+     * @param visibleUntil Instante limite das alterações retornadas.
+     * @param limit Quantidade máxima de usuários.
+     * @return As versões, em ordem de ({@code updatedAt}, {@code id}).
+     */
+    @Query("SELECT new com.sistemaEventos.servico_usuarios.dto.UserVersionDTO(u.id, u.updatedAt) FROM User u " +
+            "WHERE (u.updatedAt > ?1 OR (u.updatedAt = ?1 AND u.id > ?2)) AND u.updatedAt <= ?3 " +
+            "ORDER BY u.updatedAt, u.id")
+    List<UserVersionDTO> findChangedVersionsAfter(Instant updatedAt, String id, Instant visibleUntil, Limit limit);
+
+    /**
+     * Busca, em um único SELECT, os usuários (ativos *ou* excluídos) com os IDs informados,
+     * com suas roles.
+     *
+     * @param ids Os IDs (UUID) dos usuários.
+     * @return Uma {@link List} com os usuários encontrados.
+     */
+    @Query("SELECT DISTINCT u FROM User u LEFT JOIN FETCH u.roles WHERE u.id IN ?1")
+    List<User> findAllByIdInWithRoles(Collection<String> ids);
+
+    /**
+     * Percorre todos os usuários *ativos* como um stream, lendo do banco em blocos
+     * (fetch size), sem carregar a tabela inteira em memória. Deve ser consumido dentro de
+     * uma transação e fechado ao final.
+     *
+     * @return Um {@link Stream} com os campos indexados pela busca textual.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.sistemaEventos.servico_usuarios.dto.UserSearchDocumentDTO(" +
+            "u.id, u.fullname, u.email, u.cpf, u.deletedAt) FROM User u WHERE u.deletedAt IS NULL")
+    Stream<UserSearchDocumentDTO> streamActiveSearchDocuments();
+
+    /**
+     * Busca os campos indexados pela busca textual dos usuários (ativos *ou* excluídos)
+     * com os IDs informados.
+     *
+     * @param ids Os IDs (UUID) dos usuários.
+     * @return Uma {@link List} com os usuários encontrados.
+     */
+    @Query("SELECT new com.sistemaEventos.servico_usuarios.dto.UserSearchDocumentDTO(" +
+            "u.id, u.fullname, u.email, u.cpf, u.deletedAt) FROM User u WHERE u.id IN ?1")
+    List<UserSearchDocumentDTO> findSearchDocumentsByIdIn(Collection<String> ids);
+
+    /**
+     * Atualiza, em um único comando, o nome e a data de nascimento de um usuário *ativo*,
+     * sem carregar a entidade antes.
+     * <p>
+     * Os valores nulos mantêm o valor atual. O cadastro passa a completo quando nome e data de
+     * nascimento ficam preenchidos (e nunca volta a incompleto). Por ser um UPDATE em lote, o
+     * {@code @UpdateTimestamp} não é aplicado: o {@code updatedAt} é informado pelo chamador.
+     * O contexto de persistência é limpo após o comando, para que uma leitura seguinte na mesma
+     * transação traga a linha atualizada.
+     *
+     * @param id O ID (UUID) do usuário.
+     * @param fullname O novo nome completo, ou {@code null} para manter o atual.
+     * @param birthDate A nova data de nascimento, ou {@code null} para manter a atual.
+     * @param updatedAt O instante da alteração.
+     * @return A quantidade de usuários atualizados ({@code 0} se não houver usuário ativo com o ID).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET " +
+            "u.fullname = COALESCE(?2, u.fullname), " +
+            "u.birthDate = COALESCE(?3, u.birthDate), " +
+            "u.complete = CASE WHEN u.complete = true OR (COALESCE(?2, u.fullname) IS NOT NULL " +
+            "AND COALESCE(?3, u.birthDate) IS NOT NULL) THEN true ELSE false END, " +
+            "u.updatedAt = ?4 " +
+            "WHERE u.id = ?1 AND u.deletedAt IS NULL")
+    int updateActiveUser(String id, String fullname, LocalDate birthDate, Instant updatedAt);
+
+    /**
+     * Exclui logicamente (soft delete), em um único comando, um usuário *ativo*.
+     * <p>
+     * Diferente do {@code deleteById} (que carrega a entidade antes do {@code @SQLDelete}),
+     * não há SELECT prévio; um usuário já excluído não é afetado.
+     *
+     * @param id O ID (UUID) do usuário.
+     * @param deletedAt O instante da exclusão (também gravado em {@code updatedAt}).
+     * @return A quantidade de usuários excluídos ({@code 0} se não houver usuário ativo com o ID).
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.deletedAt = ?2, u.updatedAt = ?2 WHERE u.id = ?1 AND u.deletedAt IS NULL")
+    int softDeleteActiveById(String id, Instant deletedAt);
+}
@@ -0,0 +1,41 @@
+package com.sistemaEventos.servico_usuarios.repository;
+
+import com.sistemaEventos.servico_usuarios.dto.UserSearchKeyDTO;
+
+import java.util.List;
+
+/**
+ * Busca de usuários *ativos* por nome ou e-mail no banco, implementada em
+ * {@link UserSearchRepositoryImpl} e exposta por {@link UserRepository}.
+ * <p>
+ * Cada consulta filtra e ordena pela mesma expressão ({@code lower(email)} ou
+ * {@code lower(fullname)}, mais o ID como desempate), de modo que uma busca por prefixo é
+ * uma leitura em ordem de um único índice, parando após {@code limit} linhas; no PostgreSQL,
+ * os índices criados por {@link com.sistemaEventos.servico_usuarios.config.UserSearchIndexInitializer}.
+ */
+public interface UserSearchRepository {
+    /**
+     * Busca os usuários *ativos* cujo e-mail (em minúsculas) corresponda ao padrão, após a
+     * posição ({@code afterKey}, {@code afterId}).
+     *
+     * @param pattern O padrão {@code LIKE} em minúsculas (com {@code \} como caractere de escape).
+     * @param afterKey O e-mail em minúsculas do último usuário já entregue.
+     * @param afterId O ID do último usuário já entregue ({@code ""} para a primeira página).
+     * @param limit Quantidade máxima de usuários.
+     * @return Os IDs e e-mails em minúsculas, em ordem de e-mail.
+     */
+    List<UserSearchKeyDTO> searchActiveByEmail(String pattern, String afterKey, String afterId, int limit);
+
+    /**
+     * Busca os usuários *ativos* cujo nome (em minúsculas) corresponda ao padrão e cujo e-mail
+     * não corresponda (esses já foram entregues por {@link #searchActiveByEmail}), após a
+     * posição ({@code afterKey}, {@code afterId}).
+     *
+     * @param pattern O padrão {@code LIKE} em minúsculas (com {@code \} como caractere de escape).
+     * @param afterKey O nome em minúsculas do último usuário já entregue.
+     * @param afterId O ID do último usuário já entregue ({@code ""} para a primeira página).
+     * @param limit Quantidade máxima de usuários.
+     * @return Os IDs e nomes em minúsculas, em ordem de nome.
+     */
+    List<UserSearchKeyDTO> searchActiveByFullname(String pattern, String afterKey, String afterId, int limit);
+}
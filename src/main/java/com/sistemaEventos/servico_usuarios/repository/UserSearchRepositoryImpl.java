@@ -0,0 +1,101 @@
+package com.sistemaEventos.servico_usuarios.repository;
+
+import com.sistemaEventos.servico_usuarios.dto.UserSearchKeyDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementação de {@link UserSearchRepository} com SQL nativo.
+ * <p>
+ * No PostgreSQL, as chaves usam {@code COLLATE "C"} (ordem por bytes): é a ordem dos índices de
+ * busca, e a única em que um {@code LIKE 'ana%'} vira um intervalo do índice. Nos demais bancos
+ * (H2 nos testes) a comparação padrão já é por código de caractere, e a cláusula é omitida.
+ * <p>
+ * Uma busca por trecho ({@code LIKE '%silva%'}) não é um intervalo do índice B-tree: as
+ * correspondências vêm do índice de trigramas e só depois são ordenadas. A consulta separa as
+ * duas etapas ({@code WITH ... AS MATERIALIZED}); sem isso, com o {@code LIMIT}, o PostgreSQL
+ * tende a percorrer o índice B-tree em ordem esperando achar logo as primeiras linhas, e um termo
+ * sem correspondências lê a tabela inteira. O custo fica proporcional ao número de usuários
+ * encontrados.
+ */
+class UserSearchRepositoryImpl implements UserSearchRepository {
+    private static final String BY_EMAIL =
+            "SELECT id, lower(email)%1$s FROM users WHERE deleted_at IS NULL " +
+            "AND lower(email)%1$s LIKE :pattern ESCAPE '\\' " +
+            "AND (lower(email)%1$s, id) > (:afterKey, :afterId) " +
+            "ORDER BY lower(email)%1$s, id";
+
+    private static final String BY_FULLNAME =
+            "SELECT id, lower(fullname)%1$s FROM users WHERE deleted_at IS NULL " +
+            "AND lower(fullname)%1$s LIKE :pattern ESCAPE '\\' " +
+            "AND lower(email) NOT LIKE :pattern ESCAPE '\\' " +
+            "AND (lower(fullname)%1$s, id) > (:afterKey, :afterId) " +
+            "ORDER BY lower(fullname)%1$s, id";
+
+    private static final String BY_EMAIL_CONTAINS =
+            "WITH hits AS%2$s (SELECT id, lower(email)%1$s AS search_key FROM users WHERE deleted_at IS NULL " +
+            "AND lower(email)%1$s LIKE :pattern ESCAPE '\\' " +
+            "AND (lower(email)%1$s, id) > (:afterKey, :afterId)) " +
+            "SELECT id, search_key FROM hits ORDER BY search_key, id";
+
+    private static final String BY_FULLNAME_CONTAINS =
+            "WITH hits AS%2$s (SELECT id, lower(fullname)%1$s AS search_key FROM users WHERE deleted_at IS NULL " +
+            "AND lower(fullname)%1$s LIKE :pattern ESCAPE '\\' " +
+            "AND lower(email) NOT LIKE :pattern ESCAPE '\\' " +
+            "AND (lower(fullname)%1$s, id) > (:afterKey, :afterId)) " +
+            "SELECT id, search_key FROM hits ORDER BY search_key, id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Boolean postgreSql;
+
+    @Override
+    public List<UserSearchKeyDTO> searchActiveByEmail(String pattern, String afterKey, String afterId, int limit) {
+        return search(isContains(pattern) ? BY_EMAIL_CONTAINS : BY_EMAIL, pattern, afterKey, afterId, limit);
+    }
+
+    @Override
+    public List<UserSearchKeyDTO> searchActiveByFullname(String pattern, String afterKey, String afterId, int limit) {
+        return search(isContains(pattern) ? BY_FULLNAME_CONTAINS : BY_FULLNAME, pattern, afterKey, afterId, limit);
+    }
+
+    private List<UserSearchKeyDTO> search(String sql, String pattern, String afterKey, String afterId, int limit) {
+        boolean postgreSql = isPostgreSql();
+        String collate = postgreSql ? " COLLATE \"C\"" : "";
+        String materialized = postgreSql ? " MATERIALIZED" : "";
+        List<?> rows = entityManager.createNativeQuery(sql.formatted(collate, materialized))
+                .setParameter("pattern", pattern)
+                .setParameter("afterKey", afterKey)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+
+        List<UserSearchKeyDTO> keys = new ArrayList<>(rows.size());
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            keys.add(new UserSearchKeyDTO((String) columns[0], (String) columns[1]));
+        }
+        return keys;
+    }
+
+    /**
+     * Um padrão que começa com {@code %} (busca por trecho) não pode ser lido em ordem do índice.
+     */
+    private static boolean isContains(String pattern) {
+        return pattern.startsWith("%");
+    }
+
+    private boolean isPostgreSql() {
+        if (postgreSql == null) {
+            postgreSql = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+        }
+        return postgreSql;
+    }
+}
@@ -0,0 +1,515 @@
+package com.sistemaEventos.servico_usuarios.search;
+
+import com.sistemaEventos.servico_usuarios.dto.UserChangesCursor;
+import com.sistemaEventos.servico_usuarios.dto.UserSearchDocumentDTO;
+import com.sistemaEventos.servico_usuarios.dto.UserVersionDTO;
+import com.sistemaEventos.servico_usuarios.event.UserChangedEvent;
+import com.sistemaEventos.servico_usuarios.model.User;
+import com.sistemaEventos.servico_usuarios.repository.UserRepository;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.ngram.EdgeNGramTokenFilter;
+import org.apache.lucene.analysis.ngram.NGramTokenizer;
+import org.apache.lucene.analysis.pattern.PatternTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherLifetimeManager;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Índice de busca textual (Lucene) dos usuários ativos, mantido em disco local.
+ * <p>
+ * Habilitado com {@code servico-usuarios.search.lucene.enabled=true}; a partir daí,
+ * {@code GET /users/search?q=} (com {@code match=PREFIX}, o padrão) passa a usar este índice, com
+ * resultados ordenados por relevância. A busca por trecho ({@code match=CONTAINS}) continua no banco.
+ * Indexa o nome (palavras e prefixos), o e-mail (partes e prefixos) e trechos do CPF
+ * (a partir de 3 dígitos).
+ * <p>
+ * Ciclo de vida:
+ * <ul>
+ *     <li>Na inicialização, se já existir um índice em {@code servico-usuarios.search.lucene.path}, ele é
+ *     reaproveitado e atualizado a partir da posição gravada no último commit, usando o feed de
+ *     alterações ({@code updated_at}). Caso contrário, é construído percorrendo os usuários ativos
+ *     como um stream, sem carregar a tabela em memória. Até ficar pronto, a busca usa o banco.</li>
+ *     <li>As alterações feitas nesta instância são aplicadas logo após o commit
+ *     ({@link UserChangedEvent}); as das demais instâncias chegam pela leitura periódica do feed.</li>
+ *     <li>O índice é gravado em disco periodicamente e no desligamento, junto com a posição do feed.</li>
+ * </ul>
+ * A paginação usa {@code searchAfter} (relevância e ID): cada página custa apenas o seu tamanho
+ * em memória, independentemente da profundidade. A relevância muda a cada atualização do índice;
+ * por isso o cursor guarda também a versão do índice em que a busca começou, e as páginas
+ * seguintes são lidas nessa mesma versão (sem repetir nem pular resultados, e sem as alterações
+ * posteriores). As versões usadas por cursores são mantidas por
+ * {@code servico-usuarios.search.lucene.cursor-ttl-seconds} (padrão {@code 300}) depois de
+ * substituídas; um cursor mais antigo é rejeitado e a busca deve ser reiniciada. Os cursores
+ * começam com {@value #CURSOR_SOURCE}, para não serem confundidos com os da busca no banco.
+ */
+@Component
+@ConditionalOnProperty(name = "servico-usuarios.search.lucene.enabled", havingValue = "true")
+public class UserSearchIndex implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(UserSearchIndex.class);
+
+    /**
+     * Prefixo dos cursores da busca neste índice.
+     */
+    public static final String CURSOR_SOURCE = "ix.";
+
+    private static final String ID = "id";
+    private static final String ID_SORT = "id_sort";
+    private static final String NAME = "fullname";
+    private static final String NAME_PREFIX = "fullname_prefix";
+    private static final String EMAIL = "email";
+    private static final String EMAIL_PREFIX = "email_prefix";
+    private static final String CPF = "cpf";
+
+    private static final String CURSOR_COMMIT_KEY = "changesCursor";
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern CPF_QUERY = Pattern.compile("[0-9.\\-\\s]+");
+    private static final Sort RELEVANCE = new Sort(SortField.FIELD_SCORE, new SortField(ID_SORT, SortField.Type.STRING));
+
+    /**
+     * Margem ao reconstruir o índice: alterações confirmadas durante a leitura são reaplicadas pelo feed.
+     */
+    private static final Duration REBUILD_SAFETY_MARGIN = Duration.ofMinutes(1);
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Analyzer queryAnalyzer = textAnalyzer(false);
+    private final int batchSize;
+    private final long visibilityDelayMs;
+
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final SearcherLifetimeManager cursorSearchers = new SearcherLifetimeManager();
+    private final SearcherLifetimeManager.PruneByAge cursorSearchersPruner;
+    private final Object syncLock = new Object();
+
+    private volatile boolean ready;
+    private volatile UserChangesCursor cursor = UserChangesCursor.START;
+
+    public UserSearchIndex(
+            UserRepository userRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${servico-usuarios.search.lucene.path:data/user-search-index}") String path,
+            @Value("${servico-usuarios.search.lucene.batch-size:1000}") int batchSize,
+            @Value("${servico-usuarios.users.changes-visibility-delay-ms:2000}") long visibilityDelayMs,
+            @Value("${servico-usuarios.search.lucene.cursor-ttl-seconds:300}") long cursorTtlSeconds) throws IOException {
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.batchSize = batchSize;
+        this.visibilityDelayMs = visibilityDelayMs;
+
+        this.directory = FSDirectory.open(Path.of(path));
+        IndexWriterConfig config = new IndexWriterConfig(indexAnalyzer())
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        this.writer = new IndexWriter(directory, config);
+        this.searcherManager = new SearcherManager(writer, null);
+        this.cursorSearchersPruner = new SearcherLifetimeManager.PruneByAge(cursorTtlSeconds);
+    }
+
+    /**
+     * Indica se o índice já foi carregado ou construído e pode responder às buscas.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Carrega ou constrói o índice em segundo plano, sem atrasar a inicialização do serviço.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread.ofVirtual().name("user-search-index").start(() -> {
+            try {
+                String storedCursor = storedCursor();
+                if (storedCursor != null) {
+                    cursor = UserChangesCursor.parse(storedCursor);
+                    synchronize();
+                } else {
+                    rebuild();
+                }
+                commit();
+                ready = true;
+                log.info("Índice de busca de usuários pronto ({} documentos).", writer.getDocStats().numDocs);
+            } catch (RuntimeException | IOException e) {
+                log.error("Falha ao preparar o índice de busca de usuários; a busca continuará usando o banco.", e);
+            }
+        });
+    }
+
+    /**
+     * Aplica ao índice uma alteração confirmada nesta instância.
+     */
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        try {
+            if (event.user() == null || event.user().getDeletedAt() != null) {
+                writer.deleteDocuments(new Term(ID, event.userId()));
+            } else {
+                User user = event.user();
+                index(new UserSearchDocumentDTO(user.getId(), user.getFullname(), user.getEmail(), user.getCpf(), null));
+            }
+        } catch (IOException e) {
+            log.warn("Falha ao atualizar o índice de busca para o usuário {}; será corrigido pelo feed.",
+                    event.userId(), e);
+        }
+    }
+
+    /**
+     * Lê as alterações feitas por qualquer instância desde a última posição e torna
+     * as atualizações visíveis às buscas.
+     */
+    @Scheduled(fixedDelayString = "${servico-usuarios.search.lucene.sync-interval-ms:1000}")
+    public void sync() {
+        if (!ready) {
+            return;
+        }
+        try {
+            synchronize();
+        } catch (RuntimeException | IOException e) {
+            log.warn("Falha ao sincronizar o índice de busca de usuários.", e);
+        }
+    }
+
+    /**
+     * Grava o índice em disco com a posição atual do feed, para um reinício rápido.
+     */
+    @Scheduled(fixedDelayString = "${servico-usuarios.search.lucene.commit-interval-ms:60000}")
+    public void snapshot() {
+        if (!ready) {
+            return;
+        }
+        try {
+            commit();
+        } catch (IOException e) {
+            log.warn("Falha ao gravar o índice de busca de usuários.", e);
+        }
+    }
+
+    /**
+     * Busca os usuários pelo termo, em ordem de relevância.
+     *
+     * @param text   O termo buscado (palavras ou prefixos do nome e do e-mail, ou trecho do CPF).
+     * @param cursor O cursor da página anterior ({@code null} para a primeira).
+     * @param limit  A quantidade máxima de resultados.
+     * @return Os IDs encontrados e o cursor da próxima página.
+     * @throws IllegalArgumentException se o cursor for inválido, de outra origem ou expirado.
+     */
+    public Hits search(String text, String cursor, int limit) {
+        Query query = buildQuery(text);
+        if (query == null) {
+            return new Hits(List.of(), null);
+        }
+
+        Cursor position = decodeCursor(cursor);
+        try {
+            IndexSearcher searcher = acquire(position);
+            try {
+                TopFieldDocs top = searcher.searchAfter(position == null ? null : position.after(), query, limit,
+                        RELEVANCE, true);
+                List<String> ids = new ArrayList<>(top.scoreDocs.length);
+                for (ScoreDoc hit : top.scoreDocs) {
+                    ids.add(searcher.storedFields().document(hit.doc, Set.of(ID)).get(ID));
+                }
+
+                String nextCursor = null;
+                if (top.scoreDocs.length == limit) {
+                    // Mantém esta versão do índice para as próximas páginas
+                    long version = cursorSearchers.record(searcher);
+                    nextCursor = encodeCursor(version, (FieldDoc) top.scoreDocs[top.scoreDocs.length - 1]);
+                }
+                return new Hits(ids, nextCursor);
+            } finally {
+                // Também para o leitor obtido de cursorSearchers: ambos apenas decrementam a referência
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (ready) {
+            commit();
+        }
+        cursorSearchers.close();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private void rebuild() throws IOException {
+        Instant start = Instant.now();
+        writer.deleteAll();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<UserSearchDocumentDTO> users = userRepository.streamActiveSearchDocuments()) {
+                users.forEach(this::indexUnchecked);
+            }
+        });
+        cursor = new UserChangesCursor(start.minus(REBUILD_SAFETY_MARGIN), "");
+        synchronize();
+    }
+
+    private void synchronize() throws IOException {
+        synchronized (syncLock) {
+            Instant visibleUntil = Instant.now().minusMillis(visibilityDelayMs);
+            List<UserVersionDTO> versions;
+            do {
+                versions = userRepository.findChangedVersionsAfter(
+                        cursor.updatedAt(), cursor.id(), visibleUntil, Limit.of(batchSize));
+                if (versions.isEmpty()) {
+                    break;
+                }
+
+                List<String> ids = new ArrayList<>(versions.size());
+                for (UserVersionDTO version : versions) {
+                    ids.add(version.id());
+                }
+                for (UserSearchDocumentDTO user : userRepository.findSearchDocumentsByIdIn(ids)) {
+                    if (user.deletedAt() != null) {
+                        writer.deleteDocuments(new Term(ID, user.id()));
+                    } else {
+                        index(user);
+                    }
+                }
+
+                UserVersionDTO last = versions.get(versions.size() - 1);
+                cursor = new UserChangesCursor(last.updatedAt(), last.id());
+            } while (versions.size() == batchSize);
+        }
+        searcherManager.maybeRefresh();
+        cursorSearchers.prune(cursorSearchersPruner);
+    }
+
+    /**
+     * A versão atual do índice na primeira página; a versão em que a busca começou nas seguintes.
+     */
+    private IndexSearcher acquire(Cursor position) throws IOException {
+        if (position == null) {
+            return searcherManager.acquire();
+        }
+        IndexSearcher searcher = cursorSearchers.acquire(position.version());
+        if (searcher == null) {
+            throw new IllegalArgumentException("O cursor da busca expirou; reinicie a busca sem cursor.");
+        }
+        return searcher;
+    }
+
+    private void commit() throws IOException {
+        writer.setLiveCommitData(Map.of(CURSOR_COMMIT_KEY, cursor.encode()).entrySet());
+        writer.commit();
+    }
+
+    private String storedCursor() {
+        Iterable<Map.Entry<String, String>> commitData = writer.getLiveCommitData();
+        if (commitData != null) {
+            for (Map.Entry<String, String> entry : commitData) {
+                if (CURSOR_COMMIT_KEY.equals(entry.getKey())) {
+                    return entry.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    private void index(UserSearchDocumentDTO user) throws IOException {
+        Document document = new Document();
+        document.add(new StringField(ID, user.id(), Field.Store.YES));
+        document.add(new SortedDocValuesField(ID_SORT, new BytesRef(user.id())));
+        if (user.fullname() != null) {
+            document.add(new TextField(NAME, user.fullname(), Field.Store.NO));
+            document.add(new TextField(NAME_PREFIX, user.fullname(), Field.Store.NO));
+        }
+        document.add(new TextField(EMAIL, user.email(), Field.Store.NO));
+        document.add(new TextField(EMAIL_PREFIX, user.email(), Field.Store.NO));
+        document.add(new TextField(CPF, user.cpf().getCpf(), Field.Store.NO));
+
+        writer.updateDocument(new Term(ID, user.id()), document);
+    }
+
+    private void indexUnchecked(UserSearchDocumentDTO user) {
+        try {
+            index(user);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Monta a consulta: um trecho de CPF (apenas dígitos e pontuação) ou palavras, em que cada
+     * palavra deve aparecer no nome ou no e-mail, inteira (mais relevante) ou como prefixo.
+     */
+    private Query buildQuery(String text) {
+        if (CPF_QUERY.matcher(text).matches()) {
+            String digits = text.replaceAll("[^0-9]", "");
+            return digits.length() >= 3 && digits.length() <= 11 ? new TermQuery(new Term(CPF, digits)) : null;
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        boolean hasTokens = false;
+        for (String token : analyze(text)) {
+            Query tokenQuery = new BooleanQuery.Builder()
+                    .add(new BoostQuery(new TermQuery(new Term(NAME, token)), 3f), BooleanClause.Occur.SHOULD)
+                    .add(new BoostQuery(new TermQuery(new Term(EMAIL, token)), 3f), BooleanClause.Occur.SHOULD)
+                    .add(new TermQuery(new Term(NAME_PREFIX, token)), BooleanClause.Occur.SHOULD)
+                    .add(new TermQuery(new Term(EMAIL_PREFIX, token)), BooleanClause.Occur.SHOULD)
+                    .build();
+            query.add(tokenQuery, BooleanClause.Occur.MUST);
+            hasTokens = true;
+        }
+        return hasTokens ? query.build() : null;
+    }
+
+    private List<String> analyze(String text) {
+        List<String> tokens = new ArrayList<>();
+        try (TokenStream stream = queryAnalyzer.tokenStream(NAME, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                tokens.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return tokens;
+    }
+
+    private static String encodeCursor(long version, FieldDoc last) {
+        float score = (Float) last.fields[0];
+        String id = ((BytesRef) last.fields[1]).utf8ToString();
+        // O número do documento só vale na mesma versão do índice, a que o cursor guarda
+        String raw = version + ":" + last.doc + ":" + Float.floatToIntBits(score) + ":" + id;
+        return CURSOR_SOURCE + Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        if (!cursor.startsWith(CURSOR_SOURCE)) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor);
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor.substring(CURSOR_SOURCE.length())),
+                    StandardCharsets.UTF_8);
+            String[] parts = decoded.split(":", 4);
+            long version = Long.parseLong(parts[0]);
+            int doc = Integer.parseInt(parts[1]);
+            float score = Float.intBitsToFloat(Integer.parseInt(parts[2]));
+            BytesRef id = new BytesRef(parts[3]);
+            if (doc < 0) {
+                throw new IllegalArgumentException("Documento inválido: " + doc);
+            }
+            return new Cursor(version, new FieldDoc(doc, score, new Object[]{score, id}));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor);
+        }
+    }
+
+    private static Analyzer indexAnalyzer() {
+        return new PerFieldAnalyzerWrapper(textAnalyzer(false), Map.of(
+                NAME_PREFIX, textAnalyzer(true),
+                EMAIL_PREFIX, textAnalyzer(true),
+                CPF, cpfAnalyzer()
+        ));
+    }
+
+    /**
+     * Palavras em minúsculas e sem acentos ("José" = "jose"), separadas por qualquer caractere
+     * que não seja letra ou número; com {@code prefixes}, indexa também os prefixos de cada palavra.
+     */
+    private static Analyzer textAnalyzer(boolean prefixes) {
+        return new Analyzer() {
+            @Override
+            protected TokenStreamComponents createComponents(String fieldName) {
+                Tokenizer tokenizer = new PatternTokenizer(TOKEN_SEPARATOR, -1);
+                TokenStream stream = new ASCIIFoldingFilter(new LowerCaseFilter(tokenizer));
+                if (prefixes) {
+                    stream = new EdgeNGramTokenFilter(stream, 2, 20, false);
+                }
+                return new TokenStreamComponents(tokenizer, stream);
+            }
+        };
+    }
+
+    /**
+     * Todos os trechos de 3 a 11 dígitos do CPF, para a busca por CPF parcial.
+     */
+    private static Analyzer cpfAnalyzer() {
+        return new Analyzer() {
+            @Override
+            protected TokenStreamComponents createComponents(String fieldName) {
+                return new TokenStreamComponents(new NGramTokenizer(3, 11));
+            }
+        };
+    }
+
+    /**
+     * A posição de uma busca paginada: a versão do índice em que ela começou e o último resultado entregue.
+     */
+    private record Cursor(long version, FieldDoc after) {}
+
+    /**
+     * Uma página de resultados da busca.
+     *
+     * @param ids Os IDs dos usuários, em ordem de relevância.
+     * @param nextCursor O cursor da próxima página, ou {@code null} se esta for a última.
+     */
+    public record Hits(List<String> ids, String nextCursor) {}
+}
@@ -3,7 +3,6 @@ package com.sistemaEventos.servico_usuarios.security;
 import com.sistemaEventos.servico_usuarios.service.UserService;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Component;
-import java.util.Objects;
 
 /**
  * Componente utilitário que centraliza a lógica de autorização baseada em "Roles" (papéis).
@@ -11,31 +10,18 @@ import java.util.Objects;
  * Esta classe fornece métodos reutilizáveis para verificar se um usuário
  * possui uma role específica (ex: ADMIN) ou se ele é o "dono" de um recurso,
  * abstraindo essa lógica dos serviços de negócio (como o {@link UserService}).
+ * <p>
+ * As verificações usam o {@link RequesterPrincipal} já interpretado na requisição.
  */
 @Component
 public class AuthorizationHelper {
-    private static final String ADMIN_ROLE = "ROLE_ADMIN";
-
-    /**
-     * Verifica se o header de roles contém a role de ADMIN.
-     * @param requesterRoles O header "X-User-Roles" (ex: "ROLE_USER,ROLE_ADMIN").
-     * @return true se for admin, false caso contrário.
-     */
-    public boolean isAdmin(String requesterRoles) {
-        if (requesterRoles == null || requesterRoles.isEmpty()) {
-            return false;
-        }
-        return requesterRoles.contains(ADMIN_ROLE);
-    }
-
     /**
-     * Verifica se o header de roles contém a role de ADMIN.
-     * @param requesterRoles O header "X-User-Roles" (ex: "ROLE_USER,ROLE_ADMIN").
-     * @throws AccessDeniedException se o {@code requesterRoles} não conter
-     * a role "ROLE_ADMIN".
+     * Verifica se o solicitante é um ADMIN.
+     * @param requester O solicitante.
+     * @throws AccessDeniedException se o solicitante não tiver a role "ROLE_ADMIN".
      */
-    public void checkIsAdmin(String requesterRoles) {
-        if (!isAdmin(requesterRoles)) {
+    public void checkIsAdmin(RequesterPrincipal requester) {
+        if (!requester.admin()) {
             throw new AccessDeniedException("Acesso negado. O usuário não tem permissões para acessar ou modificar o recurso.");
         }
     }
@@ -43,18 +29,16 @@ public class AuthorizationHelper {
     /**
      * Verifica se o usuário é dono do recurso OU se é Admin.
      * @param resourceOwner O ID do dono do objeto ou recurso alvo.
-     * @param requesterId O ID do usuário logado (do token).
-     * @param requesterRoles O header de roles do usuário logado.
-     * @throws AccessDeniedException (via AuthorizationHelper) se o {@code requesterId} não for o dono
-     * do recurso nem um ADMIN.
+     * @param requester O solicitante.
+     * @throws AccessDeniedException se o solicitante não for o dono do recurso nem um ADMIN.
      */
-    public void checkOwnershipOrAdmin(String resourceOwner, String requesterId, String requesterRoles) {
+    public void checkOwnershipOrAdmin(String resourceOwner, RequesterPrincipal requester) {
         //Verifica se o usuário é admin
-        if (isAdmin(requesterRoles)) {
+        if (requester.admin()) {
             return;
         }
         //Verifica se o usuário é o dono do recurso
-        if (Objects.equals(requesterId, resourceOwner)) {
+        if (requester.isOwner(resourceOwner)) {
             return;
         }
 
@@ -0,0 +1,84 @@
+package com.sistemaEventos.servico_usuarios.security;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Identidade do solicitante, extraída uma única vez por requisição dos headers
+ * {@code X-User-Id} e {@code X-User-Roles} injetados pelo API Gateway.
+ * <p>
+ * As roles são comparadas por igualdade exata (ex: {@code ROLE_ADMIN_X} não é {@code ROLE_ADMIN})
+ * e a condição de administrador é calculada na criação, tornando as verificações de
+ * autorização simples consultas a um campo.
+ *
+ * @param userId O ID (UUID) do solicitante.
+ * @param roles As roles do solicitante (imutável).
+ * @param admin {@code true} se o solicitante tiver a role {@code ROLE_ADMIN}.
+ */
+public record RequesterPrincipal(
+        String userId,
+        Set<String> roles,
+        boolean admin
+) {
+    public static final String USER_ID_HEADER = "X-User-Id";
+    public static final String ROLES_HEADER = "X-User-Roles";
+    public static final String ADMIN_ROLE = "ROLE_ADMIN";
+
+    /**
+     * Há poucas combinações de roles distintas: os conjuntos já lidos são reaproveitados.
+     * O limite evita que headers arbitrários façam o cache crescer indefinidamente.
+     */
+    private static final int MAX_CACHED_ROLE_SETS = 256;
+    private static final Map<String, Set<String>> ROLE_SETS = new ConcurrentHashMap<>();
+
+    /**
+     * Cria o principal a partir dos valores dos headers.
+     *
+     * @param userId O header {@code X-User-Id}.
+     * @param rolesHeader O header {@code X-User-Roles} (ex: {@code "ROLE_USER,ROLE_ADMIN"}).
+     * @return O principal do solicitante.
+     */
+    public static RequesterPrincipal of(String userId, String rolesHeader) {
+        Set<String> roles = parseRoles(rolesHeader);
+        return new RequesterPrincipal(userId, roles, roles.contains(ADMIN_ROLE));
+    }
+
+    /**
+     * Verifica se o solicitante é o dono do recurso.
+     *
+     * @param resourceOwner O ID do dono do recurso.
+     * @return {@code true} se o solicitante for o dono.
+     */
+    public boolean isOwner(String resourceOwner) {
+        return userId != null && userId.equals(resourceOwner);
+    }
+
+    private static Set<String> parseRoles(String rolesHeader) {
+        if (rolesHeader == null || rolesHeader.isBlank()) {
+            return Set.of();
+        }
+
+        Set<String> cached = ROLE_SETS.get(rolesHeader);
+        if (cached != null) {
+            return cached;
+        }
+
+        String[] parts = rolesHeader.split(",");
+        String[] roles = new String[parts.length];
+        int count = 0;
+        for (String part : parts) {
+            String role = part.trim();
+            if (!role.isEmpty()) {
+                roles[count++] = role;
+            }
+        }
+        Set<String> parsed = Set.of(Arrays.stream(roles, 0, count).distinct().toArray(String[]::new));
+
+        if (ROLE_SETS.size() < MAX_CACHED_ROLE_SETS) {
+            ROLE_SETS.putIfAbsent(rolesHeader, parsed);
+        }
+        return parsed;
+    }
+}
@@ -8,10 +8,16 @@ import com.sistemaEventos.servico_usuarios.exception.UserNotFoundException;
 import com.sistemaEventos.servico_usuarios.model.User;
 import com.sistemaEventos.servico_usuarios.repository.UserRepository;
 import com.sistemaEventos.servico_usuarios.config.JwtService;
+import com.sistemaEventos.servico_usuarios.config.ReadYourWritesTracker;
+import com.sistemaEventos.servico_usuarios.config.ReplicaRoutingDataSource;
+import com.sistemaEventos.servico_usuarios.config.RequestDeadline;
+import com.sistemaEventos.servico_usuarios.event.UserEventOutbox;
+import com.sistemaEventos.servico_usuarios.model.UserEventType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.UUID;
 
@@ -31,6 +37,14 @@ public class AuthService {
     private PasswordEncoder passwordEncoder;
     @Autowired
     private JwtService jwtService;
+    @Autowired
+    private UserLookupCoalescer userLookupCoalescer;
+    @Autowired
+    private UserEventOutbox userEventOutbox;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ReadYourWritesTracker readYourWritesTracker;
 
     /**
      * Tenta autenticar um usuário com base no e-mail e senha fornecidos.
@@ -41,10 +55,18 @@ public class AuthService {
      * não corresponder.
      */
     public String login(UserLoginDTO dto){
-        User user = userRepository.findActiveUserByEmail(dto.email())
+        // Logins simultâneos do mesmo e-mail compartilham a consulta ao banco
+        User user = userLookupCoalescer.findActiveUserByEmail(dto.email())
                 .orElseThrow(() -> new BadCredentialsException("Email ou senha inválidos"));
+        // Logo após uma troca de senha, a réplica (ou uma consulta compartilhada iniciada antes
+        // dela) pode ter o hash antigo: relê no banco principal
+        if (readYourWritesTracker.isRecentlyWritten(user.getId())) {
+            user = ReplicaRoutingDataSource.callOnPrimary(() -> userRepository.findActiveUserByEmail(dto.email()))
+                    .orElseThrow(() -> new BadCredentialsException("Email ou senha inválidos"));
+        }
 
-        //Verifica a senha
+        //Verifica a senha (se o gateway já desistiu da requisição, não gasta CPU com o BCrypt)
+        RequestDeadline.check("hash");
         if (passwordEncoder.matches(dto.password(), user.getPassword())) {
 
             //Gera o token JWT
@@ -73,10 +95,18 @@ public class AuthService {
             throw new IllegalArgumentException("O token não é válido.");
         }
 
-        User user = userRepository.findActiveUserByEmail(dto.email())
-                .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado com esse e-mail."));
+        // O hash é calculado fora da transação, para não ocupar uma conexão durante o BCrypt
+        RequestDeadline.check("hash");
+        String encodedPassword = passwordEncoder.encode(dto.newPassword());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = userRepository.findActiveUserByEmail(dto.email())
+                    .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado com esse e-mail."));
 
-        user.setPassword(passwordEncoder.encode(dto.newPassword()));
-        userRepository.save(user);
+            user.setPassword(encodedPassword);
+            userRepository.save(user);
+            userEventOutbox.record(UserEventType.PASSWORD_RESET, user);
+            readYourWritesTracker.markWritten(user.getId());
+        });
     }
 }
@@ -0,0 +1,69 @@
+package com.sistemaEventos.servico_usuarios.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * Decide até onde uma página do outbox pode ser entregue sem que o consumidor pule um offset.
+ * <p>
+ * Os offsets (IDENTITY) são alocados antes do commit: uma transação mais lenta pode confirmar um
+ * offset menor depois de um maior. Um offset ausente ("buraco") na sequência pode ser, portanto,
+ * uma transação ainda em andamento, e a página é cortada antes dele; o consumidor recebe o
+ * restante quando o buraco for preenchido.
+ * <p>
+ * Transações desfeitas (rollback) também deixam buracos, que nunca serão preenchidos: um buraco
+ * visto por esta instância há mais de {@code gapTimeout} é considerado definitivo e deixa de
+ * cortar as páginas. O tempo é medido pelo relógio monotônico desta instância, a partir da
+ * primeira vez em que o buraco foi visto; não depende do horário gravado pela instância que
+ * criou o evento nem de relógios sincronizados entre instâncias.
+ */
+final class OffsetGapTracker {
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    /**
+     * Momento em que cada buraco foi visto pela primeira vez, pelo primeiro offset ausente.
+     */
+    private final Map<Long, Long> firstSeenNanos = new ConcurrentHashMap<>();
+    private final long gapTimeoutNanos;
+
+    OffsetGapTracker(Duration gapTimeout) {
+        this.gapTimeoutNanos = gapTimeout.toNanos();
+    }
+
+    /**
+     * Corta a página no primeiro buraco ainda recente.
+     *
+     * @param after    O offset anterior à página (o último já recebido pelo consumidor).
+     * @param events   Os eventos lidos, em ordem crescente de offset.
+     * @param offsetOf O offset de cada evento.
+     * @return O maior prefixo de {@code events} que pode ser entregue.
+     */
+    <T> List<T> contiguous(long after, List<T> events, ToLongFunction<T> offsetOf) {
+        long expected = after + 1;
+        for (int i = 0; i < events.size(); i++) {
+            long offset = offsetOf.applyAsLong(events.get(i));
+            if (offset != expected && !isSettled(expected)) {
+                return events.subList(0, i);
+            }
+            expected = offset + 1;
+        }
+        return events;
+    }
+
+    private boolean isSettled(long missingOffset) {
+        long now = System.nanoTime();
+        Long firstSeen = firstSeenNanos.get(missingOffset);
+        if (firstSeen == null) {
+            if (firstSeenNanos.size() > PRUNE_THRESHOLD) {
+                // Buracos definitivos só voltam a ser vistos por quem relê o histórico
+                firstSeenNanos.values().removeIf(seen -> now - seen >= gapTimeoutNanos);
+            }
+            Long previous = firstSeenNanos.putIfAbsent(missingOffset, now);
+            firstSeen = previous != null ? previous : now;
+        }
+        return now - firstSeen >= gapTimeoutNanos;
+    }
+}
@@ -0,0 +1,107 @@
+package com.sistemaEventos.servico_usuarios.service;
+
+import com.sistemaEventos.servico_usuarios.config.RequestDeadline;
+import com.sistemaEventos.servico_usuarios.exception.DeadlineExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa chamadas simultâneas com a mesma chave em uma única execução ("single-flight").
+ * <p>
+ * A primeira chamada para uma chave executa a consulta; as que chegam enquanto ela ainda está
+ * em andamento aguardam e recebem o mesmo resultado (ou a mesma exceção). Nada é guardado após
+ * a conclusão: a chamada seguinte executa uma nova consulta.
+ * <p>
+ * A espera é limitada a {@code maxWait}: se a consulta em andamento demorar mais que isso,
+ * quem aguarda desiste dela e executa a sua própria consulta.
+ * <p>
+ * Prazos das requisições ({@link RequestDeadline}): a consulta compartilhada é executada sem
+ * prazo, já que o prazo de quem a iniciou não deve abortá-la para os demais. Cada chamada que
+ * aguarda espera no máximo o próprio tempo restante e, se ele acabar antes, lança a sua própria
+ * {@link DeadlineExceededException} (etapa {@code coalesce}).
+ * <p>
+ * Publica o contador {@code users.lookup.calls} com as tags {@code lookup} e
+ * {@code outcome} ({@code executed} ou {@code coalesced}); a razão entre os dois é a taxa de
+ * consultas economizadas.
+ */
+final class SingleFlight<K, V> {
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Duration maxWait;
+    private final Counter executed;
+    private final Counter coalesced;
+
+    SingleFlight(String lookup, Duration maxWait, MeterRegistry meterRegistry) {
+        this.maxWait = maxWait;
+        this.executed = Counter.builder("users.lookup.calls")
+                .description("Consultas de usuário por chave, executadas ou agrupadas em uma consulta em andamento")
+                .tag("lookup", lookup)
+                .tag("outcome", "executed")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("users.lookup.calls")
+                .description("Consultas de usuário por chave, executadas ou agrupadas em uma consulta em andamento")
+                .tag("lookup", lookup)
+                .tag("outcome", "coalesced")
+                .register(meterRegistry);
+    }
+
+    V execute(K key, Supplier<V> loader) {
+        // Antes de entrar no grupo: com o prazo já esgotado, a falha é só desta chamada
+        RequestDeadline.check("query");
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing, loader);
+        }
+
+        executed.increment();
+        try {
+            V value = RequestDeadline.withoutDeadline(loader);
+            call.complete(value);
+            return value;
+        } catch (Throwable e) {
+            // Inclui Error: quem aguarda não pode ficar bloqueado para sempre
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private V await(CompletableFuture<V> call, Supplier<V> loader) {
+        Duration wait = maxWait;
+        Duration remaining = RequestDeadline.remaining();
+        if (remaining != null && remaining.compareTo(wait) < 0) {
+            wait = remaining;
+        }
+        try {
+            return call.get(wait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (RequestDeadline.isExpired()) {
+                throw new DeadlineExceededException("coalesce");
+            }
+            // A consulta em andamento está lenta demais: não vale a pena continuar esperando por ela
+            executed.increment();
+            return loader.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido enquanto aguardava uma consulta em andamento.", e);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.sistemaEventos.servico_usuarios.service;
+
+import com.sistemaEventos.servico_usuarios.dto.UserEventDTO;
+import com.sistemaEventos.servico_usuarios.dto.UserEventPageDTO;
+import com.sistemaEventos.servico_usuarios.model.UserEvent;
+import com.sistemaEventos.servico_usuarios.repository.UserEventRepository;
+import com.sistemaEventos.servico_usuarios.security.AuthorizationHelper;
+import com.sistemaEventos.servico_usuarios.security.RequesterPrincipal;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Fornece o feed incremental de eventos de usuário (lidos do outbox) aos serviços consumidores.
+ * <p>
+ * Em vez de varrer {@code GET /users}, o consumidor guarda o último offset recebido e pede
+ * apenas os eventos posteriores, de três formas:
+ * <ul>
+ *     <li>leitura simples paginada;</li>
+ *     <li>long-poll: a requisição fica aberta até surgir um evento novo ou o tempo acabar;</li>
+ *     <li>stream SSE contínuo, retomável a partir de qualquer offset.</li>
+ * </ul>
+ * Os eventos são lidos do banco, então o feed enxerga alterações feitas por qualquer
+ * instância do serviço, sem depender de um broker externo. Cada leitura para no primeiro
+ * offset ainda não confirmado ({@link OffsetGapTracker}), para que nenhum evento seja pulado.
+ */
+@Service
+public class UserEventService implements DisposableBean {
+    @Autowired
+    private UserEventRepository userEventRepository;
+    @Autowired
+    private AuthorizationHelper authorizationHelper;
+
+    @Value("${servico-usuarios.events.page-max-size:500}")
+    private int pageMaxSize;
+    @Value("${servico-usuarios.events.stream-timeout-ms:1800000}")
+    private long streamTimeoutMs;
+    @Value("${servico-usuarios.events.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    private final OffsetGapTracker gapTracker;
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Envia os eventos SSE fora da thread do agendador, que é compartilhada com o relay do outbox,
+     * o índice de busca e os metadados do Eureka: a escrita no socket bloqueia enquanto o
+     * cliente não lê, e um cliente lento não pode atrasar essas tarefas.
+     */
+    private final ExecutorService sender =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("user-events-sse-", 0).factory());
+
+    /**
+     * @param gapTimeoutMs Tempo após o qual um offset ausente é considerado de uma transação
+     *                     desfeita e deixa de segurar os eventos seguintes ({@link OffsetGapTracker}).
+     */
+    public UserEventService(@Value("${servico-usuarios.events.gap-timeout-ms:5000}") long gapTimeoutMs) {
+        this.gapTracker = new OffsetGapTracker(Duration.ofMillis(gapTimeoutMs));
+    }
+
+    /**
+     * Lê uma página de eventos posteriores ao offset informado.
+     * Esta é uma operação restrita a administradores.
+     *
+     * @param after          O último offset já recebido pelo consumidor ({@code 0} para o início).
+     * @param limit          A quantidade máxima de eventos.
+     * @param requester      O usuário que está fazendo a solicitação.
+     * @return A página de eventos e o próximo offset.
+     * @throws AccessDeniedException se o solicitante não for um ADMIN.
+     */
+    public UserEventPageDTO readEvents(long after, int limit, RequesterPrincipal requester) {
+        authorizationHelper.checkIsAdmin(requester);
+
+        return readPage(after, limit);
+    }
+
+    /**
+     * Long-poll: responde imediatamente se já houver eventos posteriores ao offset; caso
+     * contrário, mantém a requisição aberta (sem ocupar a thread) até surgir um evento ou
+     * o tempo de espera acabar, quando responde uma página vazia.
+     *
+     * @param after          O último offset já recebido pelo consumidor.
+     * @param limit          A quantidade máxima de eventos.
+     * @param wait           O tempo máximo de espera.
+     * @param requester      O usuário que está fazendo a solicitação.
+     * @return O resultado assíncrono com a página de eventos.
+     * @throws AccessDeniedException se o solicitante não for um ADMIN.
+     */
+    public DeferredResult<UserEventPageDTO> pollEvents(long after, int limit, Duration wait, RequesterPrincipal requester) {
+        authorizationHelper.checkIsAdmin(requester);
+
+        UserEventPageDTO emptyPage = new UserEventPageDTO(List.of(), after);
+        DeferredResult<UserEventPageDTO> result = new DeferredResult<>(wait.toMillis(), emptyPage);
+
+        UserEventPageDTO page = readPage(after, limit);
+        if (!page.events().isEmpty() || wait.isZero()) {
+            result.setResult(page);
+            return result;
+        }
+
+        Waiter waiter = new Waiter(after, limit, result);
+        waiters.add(waiter);
+        result.onCompletion(() -> waiters.remove(waiter));
+        return result;
+    }
+
+    /**
+     * Abre um stream SSE com todos os eventos posteriores ao offset. Cada evento SSE tem como
+     * {@code id} o offset, permitindo retomar o stream com o header {@code Last-Event-ID}.
+     * Um cliente que não lê os eventos enviados em até {@code servico-usuarios.events.send-timeout-ms}
+     * (padrão {@code 10000}) é desconectado.
+     *
+     * @param after          O último offset já recebido pelo consumidor.
+     * @param requester      O usuário que está fazendo a solicitação.
+     * @return O emissor SSE.
+     * @throws AccessDeniedException se o solicitante não for um ADMIN.
+     */
+    public SseEmitter streamEvents(long after, RequesterPrincipal requester) {
+        authorizationHelper.checkIsAdmin(requester);
+
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, after);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        return emitter;
+    }
+
+    /**
+     * Entrega os eventos novos aos long-polls e streams abertos.
+     * <p>
+     * Faz uma consulta por offset distinto entre os consumidores conectados e a compartilha entre
+     * os que estão no mesmo offset: os consumidores em dia (normalmente todos no mesmo offset)
+     * recebem os eventos novos mesmo que um consumidor atrasado ainda esteja lendo o histórico,
+     * que recebe o restante nas próximas execuções.
+     */
+    @Scheduled(fixedDelayString = "${servico-usuarios.events.poll-interval-ms:500}")
+    public void dispatch() {
+        if (waiters.isEmpty() && subscribers.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<UserEventDTO>> pagesByOffset = new HashMap<>();
+        for (Waiter waiter : waiters) {
+            List<UserEventDTO> events = pagesByOffset.computeIfAbsent(waiter.after(), this::readDispatchPage);
+            if (!events.isEmpty()) {
+                List<UserEventDTO> pending = List.copyOf(events.subList(0, Math.min(events.size(), waiter.limit())));
+                waiter.result().setResult(new UserEventPageDTO(pending, pending.get(pending.size() - 1).offset()));
+            }
+        }
+        long now = System.nanoTime();
+        long sendTimeoutNanos = Duration.ofMillis(sendTimeoutMs).toNanos();
+        for (Subscriber subscriber : subscribers) {
+            // Um envio por vez para cada consumidor: os eventos seguintes são lidos a partir do
+            // offset que ele de fato recebeu, e quem não lê a tempo é desconectado
+            if (subscriber.sending) {
+                if (now - subscriber.sendStartedNanos > sendTimeoutNanos) {
+                    disconnect(subscriber, new TimeoutException("Cliente SSE não leu os eventos a tempo."));
+                }
+                continue;
+            }
+            List<UserEventDTO> events = pagesByOffset.computeIfAbsent(subscriber.offset, this::readDispatchPage);
+            if (!events.isEmpty()) {
+                subscriber.sendStartedNanos = now;
+                subscriber.sending = true;
+                sender.execute(() -> send(subscriber, events));
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        sender.shutdownNow();
+    }
+
+    private List<UserEventDTO> readDispatchPage(long after) {
+        return readPage(after, pageMaxSize).events();
+    }
+
+    private void send(Subscriber subscriber, List<UserEventDTO> events) {
+        try {
+            for (UserEventDTO event : events) {
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(String.valueOf(event.offset()))
+                        .name(event.type().name())
+                        .data(event));
+                subscriber.offset = event.offset();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectado: o emissor é descartado e o cliente retoma pelo último offset
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+        } finally {
+            subscriber.sending = false;
+        }
+    }
+
+    private void disconnect(Subscriber subscriber, Exception cause) {
+        subscribers.remove(subscriber);
+        // No executor de envio: o emissor pode estar preso na escrita do envio em andamento
+        sender.execute(() -> subscriber.emitter.completeWithError(cause));
+    }
+
+    private UserEventPageDTO readPage(long after, int limit) {
+        int size = Math.max(1, Math.min(limit, pageMaxSize));
+
+        // Para no primeiro offset ausente: entregar os seguintes faria o consumidor pulá-lo
+        List<UserEvent> events = gapTracker.contiguous(
+                after, userEventRepository.findAfter(after, Limit.of(size)), UserEvent::getId);
+        List<UserEventDTO> dtos = new ArrayList<>(events.size());
+        for (UserEvent event : events) {
+            dtos.add(new UserEventDTO(event));
+        }
+
+        long nextOffset = dtos.isEmpty() ? after : dtos.get(dtos.size() - 1).offset();
+        return new UserEventPageDTO(dtos, nextOffset);
+    }
+
+    /**
+     * Um long-poll aguardando eventos.
+     */
+    private record Waiter(long after, int limit, DeferredResult<UserEventPageDTO> result) {}
+
+    /**
+     * Um consumidor conectado ao stream SSE, o último offset já entregue a ele e o envio em andamento.
+     */
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private volatile long offset;
+        private volatile boolean sending;
+        private volatile long sendStartedNanos;
+
+        private Subscriber(SseEmitter emitter, long offset) {
+            this.emitter = emitter;
+            this.offset = offset;
+        }
+    }
+}
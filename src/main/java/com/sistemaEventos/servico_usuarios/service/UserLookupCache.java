@@ -0,0 +1,109 @@
+package com.sistemaEventos.servico_usuarios.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sistemaEventos.servico_usuarios.event.UserChangedEvent;
+import com.sistemaEventos.servico_usuarios.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cache local, de curta duração, dos usuários resolvidos pelas consultas em lote.
+ * <p>
+ * Guarda os usuários por ID e o mapeamento CPF → ID (o CPF de um usuário nunca muda).
+ * As entradas expiram após {@code servico-usuarios.cache.user-ttl-seconds} (padrão {@code 30})
+ * e são removidas logo após o commit de uma alteração ou exclusão nesta instância. Leituras
+ * concorrentes que ainda vejam a versão anterior não a guardam: durante a janela de
+ * "read-your-writes" ({@link com.sistemaEventos.servico_usuarios.config.ReadYourWritesTracker}),
+ * o usuário alterado não passa pelo cache.
+ * <p>
+ * As estatísticas (acertos, falhas, remoções) são publicadas como métricas {@code cache.*}
+ * com as tags {@code cache=users.by-id} e {@code cache=users.cpf-to-id}.
+ */
+@Component
+public class UserLookupCache {
+    private final Cache<String, User> usersById;
+    private final Cache<String, String> idsByCpf;
+
+    public UserLookupCache(
+            @Value("${servico-usuarios.cache.user-ttl-seconds:30}") long ttlSeconds,
+            @Value("${servico-usuarios.cache.user-max-size:50000}") long maxSize,
+            MeterRegistry meterRegistry) {
+        this.usersById = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        this.idsByCpf = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, usersById, "users.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByCpf, "users.cpf-to-id");
+    }
+
+    /**
+     * Retorna os usuários em cache dentre os IDs informados.
+     *
+     * @param ids Os IDs (UUID) procurados.
+     * @return Um mapa ID → usuário apenas com os encontrados em cache.
+     */
+    public Map<String, User> getAllById(Collection<String> ids) {
+        return usersById.getAllPresent(ids);
+    }
+
+    /**
+     * Retorna os IDs em cache dentre os CPFs informados.
+     *
+     * @param cpfs Os CPFs (apenas números) procurados.
+     * @return Um mapa CPF → ID apenas com os encontrados em cache.
+     */
+    public Map<String, String> getIdsByCpf(Collection<String> cpfs) {
+        return idsByCpf.getAllPresent(cpfs);
+    }
+
+    /**
+     * Armazena os usuários carregados do banco.
+     *
+     * @param users Os usuários ativos carregados.
+     */
+    public void putAll(Collection<User> users) {
+        Map<String, User> byId = new HashMap<>(users.size() * 2);
+        Map<String, String> byCpf = new HashMap<>(users.size() * 2);
+        for (User user : users) {
+            byId.put(user.getId(), user);
+            byCpf.put(user.getCpf().getCpf(), user.getId());
+        }
+        usersById.putAll(byId);
+        idsByCpf.putAll(byCpf);
+    }
+
+    /**
+     * Remove o usuário do cache após o commit de uma alteração ou exclusão.
+     * <p>
+     * Antes do commit, uma leitura concorrente ainda veria a versão anterior e a guardaria
+     * no cache até a expiração.
+     */
+    @TransactionalEventListener
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.userId());
+    }
+
+    /**
+     * Remove o usuário do cache.
+     *
+     * @param id O ID (UUID) do usuário.
+     */
+    public void evict(String id) {
+        usersById.invalidate(id);
+    }
+}
@@ -0,0 +1,59 @@
+package com.sistemaEventos.servico_usuarios.service;
+
+import com.sistemaEventos.servico_usuarios.model.CPF;
+import com.sistemaEventos.servico_usuarios.model.User;
+import com.sistemaEventos.servico_usuarios.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Consultas de usuário ativo por ID, e-mail e CPF com agrupamento de chamadas simultâneas.
+ * <p>
+ * Nos picos de check-in, várias requisições para o mesmo usuário chegam ao mesmo tempo;
+ * com o {@link SingleFlight}, elas compartilham uma única consulta ao banco.
+ * <p>
+ * A consulta roda em uma transação somente leitura própria (e, portanto, na réplica, se
+ * configurada). Quem aguarda não abre transação nem ocupa conexão do pool enquanto espera, por
+ * até {@code servico-usuarios.lookup.coalesce-max-wait-ms} (padrão {@code 2000}); depois disso,
+ * executa a própria consulta.
+ */
+@Component
+public class UserLookupCoalescer {
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final SingleFlight<String, Optional<User>> byId;
+    private final SingleFlight<String, Optional<User>> byEmail;
+    private final SingleFlight<String, Optional<User>> byCpf;
+
+    public UserLookupCoalescer(UserRepository userRepository, PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${servico-usuarios.lookup.coalesce-max-wait-ms:2000}") long maxWaitMs) {
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        Duration maxWait = Duration.ofMillis(maxWaitMs);
+        this.byId = new SingleFlight<>("id", maxWait, meterRegistry);
+        this.byEmail = new SingleFlight<>("email", maxWait, meterRegistry);
+        this.byCpf = new SingleFlight<>("cpf", maxWait, meterRegistry);
+    }
+
+    public Optional<User> findActiveUserById(String id) {
+        return byId.execute(id, () -> readOnlyTransaction.execute(status -> userRepository.findActiveUserById(id)));
+    }
+
+    public Optional<User> findActiveUserByEmail(String email) {
+        return byEmail.execute(email, () -> readOnlyTransaction.execute(status -> userRepository.findActiveUserByEmail(email)));
+    }
+
+    public Optional<User> findActiveUserByCpf(CPF cpf) {
+        return byCpf.execute(cpf.getCpf(), () -> readOnlyTransaction.execute(status -> userRepository.findActiveUserByCpf(cpf)));
+    }
+}
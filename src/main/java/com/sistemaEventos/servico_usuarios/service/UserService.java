@@ -1,27 +1,56 @@
 package com.sistemaEventos.servico_usuarios.service;
 
+import com.sistemaEventos.servico_usuarios.config.ReadYourWritesTracker;
+import com.sistemaEventos.servico_usuarios.config.ReplicaRoutingDataSource;
+import com.sistemaEventos.servico_usuarios.config.RequestDeadline;
+import com.sistemaEventos.servico_usuarios.dto.UserChangeDTO;
+import com.sistemaEventos.servico_usuarios.dto.UserChangesCursor;
+import com.sistemaEventos.servico_usuarios.dto.UserChangesPageDTO;
 import com.sistemaEventos.servico_usuarios.dto.UserCreateDTO;
+import com.sistemaEventos.servico_usuarios.dto.UserResponseDTO;
+import com.sistemaEventos.servico_usuarios.dto.UserSearchCursor;
+import com.sistemaEventos.servico_usuarios.dto.UserSearchKeyDTO;
+import com.sistemaEventos.servico_usuarios.dto.UserSearchMatch;
+import com.sistemaEventos.servico_usuarios.dto.UserSearchPageDTO;
 import com.sistemaEventos.servico_usuarios.dto.UserSyncDTO;
 import com.sistemaEventos.servico_usuarios.dto.UserUpdateDTO;
+import com.sistemaEventos.servico_usuarios.dto.UserVersionDTO;
 import com.sistemaEventos.servico_usuarios.exception.CpfAlreadyExistsException;
+import com.sistemaEventos.servico_usuarios.exception.CpfInvalidException;
 import com.sistemaEventos.servico_usuarios.exception.EmailAlreadyExistsException;
+import com.sistemaEventos.servico_usuarios.event.UserEventOutbox;
 import com.sistemaEventos.servico_usuarios.security.AuthorizationHelper;
+import com.sistemaEventos.servico_usuarios.security.RequesterPrincipal;
 import org.springframework.security.access.AccessDeniedException;
 import com.sistemaEventos.servico_usuarios.exception.UserNotFoundException;
 import com.sistemaEventos.servico_usuarios.model.CPF;
 import com.sistemaEventos.servico_usuarios.model.Role;
 import com.sistemaEventos.servico_usuarios.model.User;
+import com.sistemaEventos.servico_usuarios.model.UserEventType;
 import com.sistemaEventos.servico_usuarios.repository.RoleRepository;
 import com.sistemaEventos.servico_usuarios.repository.UserRepository;
+import com.sistemaEventos.servico_usuarios.search.UserSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 /**
  * Fornece a lógica de negócio principal para o gerenciamento de Usuários (User).
@@ -40,23 +69,49 @@ public class UserService {
     private PasswordEncoder passwordEncoder;
     @Autowired
     private AuthorizationHelper authorizationHelper;
+    @Autowired
+    private ReadYourWritesTracker readYourWritesTracker;
+    @Autowired
+    private UserLookupCache userLookupCache;
+    @Autowired
+    private UserLookupCoalescer userLookupCoalescer;
+    @Autowired
+    private UserEventOutbox userEventOutbox;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired(required = false)
+    private UserSearchIndex userSearchIndex;
+
+    @Value("${servico-usuarios.users.batch-max-size:500}")
+    private int batchMaxSize;
+    @Value("${servico-usuarios.users.changes-max-page-size:1000}")
+    private int changesMaxPageSize;
+    @Value("${servico-usuarios.users.changes-visibility-delay-ms:2000}")
+    private long changesVisibilityDelayMs;
+    @Value("${servico-usuarios.users.search-max-page-size:100}")
+    private int searchMaxPageSize;
 
     /**
      * Busca um usuário ativo específico pelo ID, aplicando verificação de permissão.
      * O solicitante deve ser o próprio usuário (dono) ou um ADMIN.
+     * <p>
+     * Buscas simultâneas pelo mesmo ID compartilham uma única consulta ({@link UserLookupCoalescer}),
+     * exceto logo após uma alteração do usuário, quando a leitura vai direto ao banco principal.
      *
      * @param targetId       O ID (UUID) do usuário a ser buscado.
-     * @param requesterId    O ID (UUID) do usuário que está fazendo a solicitação (do token).
-     * @param requesterRoles As roles do usuário que está fazendo a solicitação (do token).
+     * @param requester      O usuário que está fazendo a solicitação.
      * @return O objeto User encontrado.
      * @throws UserNotFoundException se o usuário com o {@code targetId} não for encontrado.
-     * @throws AccessDeniedException (via AuthorizationHelper) se o {@code requesterId} não for o dono
+     * @throws AccessDeniedException (via AuthorizationHelper) se o {@code requester} não for o dono
      *                               do recurso nem um ADMIN.
      */
-    public User getUserById(String targetId, String requesterId, String requesterRoles) {
-        authorizationHelper.checkOwnershipOrAdmin(targetId, requesterId, requesterRoles);
+    public User getUserById(String targetId, RequesterPrincipal requester) {
+        authorizationHelper.checkOwnershipOrAdmin(targetId, requester);
 
-        Optional<User> userOptional = userRepository.findActiveUserById(targetId);
+        // Uma consulta em andamento pode ter começado antes da alteração: não é compartilhada
+        Optional<User> userOptional = readYourWritesTracker.isRecentlyWritten(targetId)
+                ? ReplicaRoutingDataSource.callOnPrimary(() -> userRepository.findActiveUserById(targetId))
+                : userLookupCoalescer.findActiveUserById(targetId);
         if (userOptional.isEmpty()) {
             throw new UserNotFoundException("Usuário com ID " + targetId + " não encontrado.");
         }
@@ -64,23 +119,331 @@ public class UserService {
         return userOptional.get();
     }
 
+    /**
+     * Busca apenas a versão (ID e data da última alteração) de um usuário ativo, aplicando
+     * a mesma verificação de permissão de {@link #getUserById}.
+     * <p>
+     * Usado para responder requisições condicionais ({@code If-None-Match}) sem carregar a entidade.
+     *
+     * @param targetId       O ID (UUID) do usuário.
+     * @param requester      O usuário que está fazendo a solicitação.
+     * @return A versão do usuário.
+     * @throws UserNotFoundException se o usuário com o {@code targetId} não for encontrado.
+     * @throws AccessDeniedException (via AuthorizationHelper) se o {@code requester} não for o dono
+     *                               do recurso nem um ADMIN.
+     */
+    @Transactional(readOnly = true)
+    public UserVersionDTO getUserVersionById(String targetId, RequesterPrincipal requester) {
+        authorizationHelper.checkOwnershipOrAdmin(targetId, requester);
+
+        return readUpToDate(targetId, () -> userRepository.findActiveUserVersionById(targetId))
+                .orElseThrow(() -> new UserNotFoundException("Usuário com ID " + targetId + " não encontrado."));
+    }
+
     /**
      * Busca uma lista de todos os usuários ativos no sistema.
      * Esta é uma operação restrita a administradores.
      *
-     * @param requesterRoles As roles do usuário que está fazendo a solicitação.
+     * @param requester      O usuário que está fazendo a solicitação.
      * @return Uma Lista de objetos User.
      * @throws AccessDeniedException se o solicitante não for um ADMIN.
      */
-    public List<User> getAllUsers(String requesterRoles) {
-        authorizationHelper.checkIsAdmin(requesterRoles);
+    @Transactional(readOnly = true)
+    public List<User> getAllUsers(RequesterPrincipal requester) {
+        authorizationHelper.checkIsAdmin(requester);
 
         return userRepository.findAllActive();
     }
 
+    /**
+     * Retorna uma página do feed de alterações: os usuários criados, alterados ou excluídos
+     * após o cursor informado, em ordem de ({@code updatedAt}, {@code id}).
+     * Esta é uma operação restrita a administradores.
+     * <p>
+     * Usuários excluídos aparecem como tombstones. Alterações mais recentes que
+     * {@code servico-usuarios.users.changes-visibility-delay-ms} só são entregues na leitura
+     * seguinte: o {@code updatedAt} é definido antes do commit, e uma transação mais lenta
+     * poderia confirmar uma alteração "no passado" de um cursor já entregue.
+     *
+     * @param since          O cursor recebido na página anterior ({@code null} para o início).
+     * @param limit          A quantidade máxima de alterações.
+     * @param requester      O usuário que está fazendo a solicitação.
+     * @return A página de alterações e o próximo cursor.
+     * @throws IllegalArgumentException se o cursor for inválido.
+     * @throws AccessDeniedException se o solicitante não for um ADMIN.
+     */
+    @Transactional(readOnly = true)
+    public UserChangesPageDTO getUserChanges(String since, int limit, RequesterPrincipal requester) {
+        authorizationHelper.checkIsAdmin(requester);
+
+        UserChangesCursor cursor = UserChangesCursor.parse(since);
+        int size = Math.max(1, Math.min(limit, changesMaxPageSize));
+        Instant visibleUntil = Instant.now().minusMillis(changesVisibilityDelayMs);
+
+        // 1ª consulta: apenas o índice (updated_at, id), que define a ordem e o próximo cursor
+        List<UserVersionDTO> versions = userRepository.findChangedVersionsAfter(
+                cursor.updatedAt(), cursor.id(), visibleUntil, Limit.of(size));
+        if (versions.isEmpty()) {
+            return new UserChangesPageDTO(List.of(), cursor.encode(), false);
+        }
+
+        // 2ª consulta: os usuários da página, com as roles, em um único SELECT
+        List<String> ids = new ArrayList<>(versions.size());
+        for (UserVersionDTO version : versions) {
+            ids.add(version.id());
+        }
+        Map<String, User> usersById = new HashMap<>(versions.size() * 2);
+        for (User user : userRepository.findAllByIdInWithRoles(ids)) {
+            usersById.put(user.getId(), user);
+        }
+
+        List<UserChangeDTO> changes = new ArrayList<>(versions.size());
+        for (UserVersionDTO version : versions) {
+            User user = usersById.get(version.id());
+            if (user != null) {
+                changes.add(new UserChangeDTO(user));
+            }
+        }
+
+        UserVersionDTO last = versions.get(versions.size() - 1);
+        String nextCursor = new UserChangesCursor(last.updatedAt(), last.id()).encode();
+        return new UserChangesPageDTO(changes, nextCursor, versions.size() == size);
+    }
+
+    /**
+     * Busca usuários ativos pelo nome completo ou e-mail, sem diferenciar maiúsculas e minúsculas.
+     * Esta é uma operação restrita a administradores.
+     * <p>
+     * A página é montada com duas consultas: os IDs (pelos índices de busca) e depois os usuários
+     * com suas roles, em um único SELECT. Os IDs vêm em duas fases, cada uma paginada pela
+     * expressão do seu índice: primeiro os usuários encontrados pelo e-mail, em ordem de e-mail,
+     * e depois os encontrados apenas pelo nome, em ordem de nome.
+     * <p>
+     * Com o índice textual habilitado e pronto ({@link UserSearchIndex}), a busca {@code PREFIX} usa
+     * o índice: cada palavra do termo é comparada com as palavras do nome e do e-mail (inteiras ou
+     * como prefixo, ex: {@code silva} também encontra "Ana Silva"), os IDs vêm em ordem de relevância
+     * e o termo também pode ser um trecho do CPF. O índice não compara trechos arbitrários: a busca
+     * {@code CONTAINS} sempre usa o banco. Um cursor recebido continua na mesma origem (banco ou
+     * índice) em que a busca começou.
+     *
+     * @param query          O termo buscado.
+     * @param match          O modo de comparação (prefixo ou trecho).
+     * @param cursor         O {@code nextCursor} da página anterior ({@code null} para a primeira).
+     * @param limit          A quantidade máxima de usuários.
+     * @param requester      O usuário que está fazendo a solicitação.
+     * @return A página de usuários e o cursor da próxima.
+     * @throws IllegalArgumentException se o termo ou o cursor forem inválidos.
+     * @throws AccessDeniedException se o solicitante não for um ADMIN.
+     */
+    @Transactional(readOnly = true)
+    public UserSearchPageDTO searchUsers(String query, UserSearchMatch match, String cursor, int limit,
+                                         RequesterPrincipal requester) {
+        authorizationHelper.checkIsAdmin(requester);
+
+        String term = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        if (term.isEmpty() || term.length() > 100) {
+            throw new IllegalArgumentException("O termo de busca deve ter entre 1 e 100 caracteres.");
+        }
+        int size = Math.max(1, Math.min(limit, searchMaxPageSize));
+
+        // A paginação continua na origem do cursor: o índice pode ficar pronto (ou estar pronto
+        // em outra instância) no meio de uma paginação iniciada no banco
+        boolean indexCursor = cursor != null && cursor.startsWith(UserSearchIndex.CURSOR_SOURCE);
+        boolean databaseCursor = cursor != null && cursor.startsWith(UserSearchCursor.SOURCE);
+        if (indexCursor && match != UserSearchMatch.PREFIX) {
+            throw new IllegalArgumentException("Cursor de outra busca: reinicie a busca sem cursor.");
+        }
+        if (match == UserSearchMatch.PREFIX && !databaseCursor && userSearchIndex != null && userSearchIndex.isReady()) {
+            UserSearchIndex.Hits hits = userSearchIndex.search(term, cursor, size);
+            return new UserSearchPageDTO(loadActiveInOrder(hits.ids()), hits.nextCursor());
+        }
+        if (indexCursor) {
+            throw new IllegalArgumentException("O índice de busca textual não está disponível; reinicie a busca sem cursor.");
+        }
+
+        if (match == UserSearchMatch.CONTAINS && term.length() < 3) {
+            throw new IllegalArgumentException("A busca por trecho exige ao menos 3 caracteres.");
+        }
+
+        String escaped = term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        String pattern = match == UserSearchMatch.CONTAINS ? "%" + escaped + "%" : escaped + "%";
+
+        // Na busca por prefixo, cada fase começa no próprio termo: a leitura do índice parte dele
+        String start = match == UserSearchMatch.PREFIX ? term : "";
+        UserSearchCursor position = UserSearchCursor.parse(cursor, start);
+
+        List<UserSearchKeyDTO> keys = new ArrayList<>(size);
+        UserSearchCursor next = null;
+        if (position.phase() == UserSearchCursor.Phase.EMAIL) {
+            keys.addAll(userRepository.searchActiveByEmail(pattern, position.key(), position.id(), size));
+            if (keys.size() == size) {
+                UserSearchKeyDTO last = keys.get(keys.size() - 1);
+                next = new UserSearchCursor(UserSearchCursor.Phase.EMAIL, last.key(), last.id());
+            } else {
+                position = new UserSearchCursor(UserSearchCursor.Phase.FULLNAME, start, "");
+            }
+        }
+        if (next == null) {
+            int remaining = size - keys.size();
+            List<UserSearchKeyDTO> byName = userRepository.searchActiveByFullname(
+                    pattern, position.key(), position.id(), remaining);
+            keys.addAll(byName);
+            if (byName.size() == remaining) {
+                UserSearchKeyDTO last = byName.get(byName.size() - 1);
+                next = new UserSearchCursor(UserSearchCursor.Phase.FULLNAME, last.key(), last.id());
+            }
+        }
+
+        List<String> ids = new ArrayList<>(keys.size());
+        for (UserSearchKeyDTO key : keys) {
+            ids.add(key.id());
+        }
+        List<UserResponseDTO> users = loadActiveInOrder(ids);
+
+        String nextCursor = next == null ? null : next.encode();
+        return new UserSearchPageDTO(users, nextCursor);
+    }
+
+    /**
+     * Carrega os usuários ativos (com suas roles) em um único SELECT, mantendo a ordem dos IDs.
+     */
+    private List<UserResponseDTO> loadActiveInOrder(List<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, User> usersById = new HashMap<>(ids.size() * 2);
+        for (User user : userRepository.findAllByIdInWithRoles(ids)) {
+            usersById.put(user.getId(), user);
+        }
+
+        List<UserResponseDTO> users = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            User user = usersById.get(id);
+            // O índice textual pode estar alguns instantes atrás de uma exclusão
+            if (user != null && user.getDeletedAt() == null) {
+                users.add(new UserResponseDTO(user));
+            }
+        }
+        return users;
+    }
+
+    /**
+     * Resolve vários usuários ativos de uma só vez, por ID e/ou CPF.
+     * <p>
+     * As entradas repetidas são removidas, os usuários já em cache ({@link UserLookupCache})
+     * são reaproveitados e os demais são carregados com no máximo duas consultas
+     * ({@code IN} por ID e {@code IN} por CPF), em vez de uma requisição por usuário.
+     * Os usuários alterados há pouco ({@link ReadYourWritesTracker}) são lidos do banco principal,
+     * sem passar pelo cache.
+     *
+     * @param ids  Os IDs (UUID) procurados (pode ser nulo).
+     * @param cpfs Os CPFs procurados, com ou sem formatação (pode ser nulo).
+     * @return Um mapa indexado pelos valores de entrada (ID ou CPF, como informados); entradas
+     * não encontradas ou com CPF inválido ficam de fora.
+     * @throws IllegalArgumentException se a quantidade de entradas exceder o limite do lote.
+     */
+    public Map<String, User> resolveUsers(List<String> ids, List<String> cpfs) {
+        List<String> inputIds = ids != null ? ids : List.of();
+        List<String> inputCpfs = cpfs != null ? cpfs : List.of();
+        if (inputIds.size() + inputCpfs.size() > batchMaxSize) {
+            throw new IllegalArgumentException("O lote pode conter no máximo " + batchMaxSize + " IDs e CPFs.");
+        }
+
+        // Entrada (como informada) -> CPF normalizado; CPFs inválidos são ignorados
+        Map<String, String> normalizedCpfs = new LinkedHashMap<>();
+        for (String input : inputCpfs) {
+            try {
+                normalizedCpfs.put(input, parseCpf(input).getCpf());
+            } catch (CpfInvalidException e) {
+                // CPF inválido não pode existir no banco: fica de fora do resultado
+            }
+        }
+
+        Map<String, String> cachedIdsByCpf = userLookupCache.getIdsByCpf(normalizedCpfs.values());
+        Set<String> wantedIds = new LinkedHashSet<>(inputIds);
+        wantedIds.addAll(cachedIdsByCpf.values());
+
+        // Usuários alterados há pouco não usam o cache nem a réplica, que podem ter a versão anterior
+        Set<String> recentIds = new LinkedHashSet<>();
+        for (String id : wantedIds) {
+            if (readYourWritesTracker.isRecentlyWritten(id)) {
+                recentIds.add(id);
+            }
+        }
+
+        Map<String, User> usersById = new HashMap<>(userLookupCache.getAllById(wantedIds));
+        usersById.keySet().removeAll(recentIds);
+
+        Set<String> missingIds = new LinkedHashSet<>(wantedIds);
+        missingIds.removeAll(usersById.keySet());
+        missingIds.removeAll(recentIds);
+
+        Set<CPF> missingCpfs = new LinkedHashSet<>();
+        for (String cpf : new LinkedHashSet<>(normalizedCpfs.values())) {
+            if (!cachedIdsByCpf.containsKey(cpf)) {
+                missingCpfs.add(new CPF(cpf));
+            }
+        }
+
+        List<User> loaded = new ArrayList<>();
+        if (!missingIds.isEmpty() || !missingCpfs.isEmpty()) {
+            readOnlyTransaction().executeWithoutResult(status -> {
+                if (!missingIds.isEmpty()) {
+                    loaded.addAll(userRepository.findActiveUsersByIdIn(missingIds));
+                }
+                if (!missingCpfs.isEmpty()) {
+                    loaded.addAll(userRepository.findActiveUsersByCpfIn(missingCpfs));
+                }
+            });
+        }
+
+        // A consulta por CPF também pode trazer usuários alterados há pouco
+        List<User> cacheable = new ArrayList<>(loaded.size());
+        for (User user : loaded) {
+            if (readYourWritesTracker.isRecentlyWritten(user.getId())) {
+                recentIds.add(user.getId());
+            } else {
+                cacheable.add(user);
+                usersById.put(user.getId(), user);
+            }
+        }
+        userLookupCache.putAll(cacheable);
+
+        if (!recentIds.isEmpty()) {
+            // Fora da transação somente leitura: a consulta pode ir ao banco principal
+            for (User user : ReplicaRoutingDataSource.callOnPrimary(() -> userRepository.findActiveUsersByIdIn(recentIds))) {
+                usersById.put(user.getId(), user);
+            }
+        }
+
+        Map<String, User> usersByCpf = new HashMap<>(usersById.size() * 2);
+        for (User user : usersById.values()) {
+            usersByCpf.put(user.getCpf().getCpf(), user);
+        }
+
+        Map<String, User> result = new LinkedHashMap<>();
+        for (String id : inputIds) {
+            User user = usersById.get(id);
+            if (user != null) {
+                result.put(id, user);
+            }
+        }
+        normalizedCpfs.forEach((input, cpf) -> {
+            User user = usersByCpf.get(cpf);
+            if (user != null) {
+                result.put(input, user);
+            }
+        });
+        return result;
+    }
+
     /**
      * Cria um novo usuário completo no sistema (ex: via formulário de registro).
      * O usuário é salvo com a role padrão "ROLE_USER" e marcado como "completo".
+     * <p>
+     * O hash da senha é calculado antes da transação, para não manter uma conexão do pool
+     * ocupada durante o BCrypt; a gravação do usuário e do evento {@code CREATED} é atômica.
      *
      * @param dto O Data Transfer Object (DTO) contendo os dados do novo usuário.
      * @return A entidade User salva no banco de dados.
@@ -89,6 +452,22 @@ public class UserService {
      * @throws RuntimeException            se a "ROLE_USER" padrão não for encontrada no banco.
      */
     public User createUser(UserCreateDTO dto) {
+        return saveNewUser(prepareUser(dto));
+    }
+
+    /**
+     * Valida e monta um novo usuário completo (incluindo o hash da senha), sem gravá-lo.
+     * <p>
+     * Primeira etapa de {@link #createUser}, separada para quem precisa gravar o usuário
+     * na própria transação (ex: {@code IdempotencyStore}); a gravação é feita por {@link #saveNewUser}.
+     *
+     * @param dto O Data Transfer Object (DTO) contendo os dados do novo usuário.
+     * @return O usuário ainda não salvo.
+     * @throws CpfAlreadyExistsException   se o CPF já estiver em uso.
+     * @throws EmailAlreadyExistsException se o e-mail já estiver em uso.
+     * @throws RuntimeException            se a "ROLE_USER" padrão não for encontrada no banco.
+     */
+    public User prepareUser(UserCreateDTO dto) {
         validateUserExists(dto.cpf(), dto.email());
 
         //Converter DTO para Entidade
@@ -97,6 +476,8 @@ public class UserService {
         user.setCpf(dto.cpf());
         user.setFullname(dto.fullname());
         user.setEmail(dto.email());
+        // Se o gateway já desistiu da requisição, não gasta CPU com o BCrypt
+        RequestDeadline.check("hash");
         user.setPassword(passwordEncoder.encode(dto.password()));
         user.setBirthDate(dto.birth_date());
 
@@ -107,13 +488,13 @@ public class UserService {
 
         user.setComplete(true);
 
-        return userRepository.save(user);
+        return user;
     }
 
     /**
      * Cria um usuário "sincronizado" (parcial) no sistema (ex: via integração).
      * O usuário é salvo com a role "ROLE_USER", marcado como "incompleto" e
-     * recebe uma senha temporária.
+     * recebe uma senha temporária. A gravação do usuário e do evento {@code SYNCED} é atômica.
      *
      * @param dto O Data Transfer Object (DTO) contendo os dados sincronizados.
      * @return A entidade User salva no banco de dados.
@@ -122,6 +503,20 @@ public class UserService {
      * @throws RuntimeException            se a "ROLE_USER" padrão não for encontrada no banco.
      */
     public User createSyncUser(UserSyncDTO dto) {
+        return saveNewUser(prepareSyncUser(dto));
+    }
+
+    /**
+     * Valida e monta um usuário "sincronizado" (parcial), sem gravá-lo; a gravação é feita
+     * por {@link #saveNewUser}.
+     *
+     * @param dto O Data Transfer Object (DTO) contendo os dados sincronizados.
+     * @return O usuário ainda não salvo.
+     * @throws CpfAlreadyExistsException   se o CPF já estiver em uso.
+     * @throws EmailAlreadyExistsException se o e-mail já estiver em uso.
+     * @throws RuntimeException            se a "ROLE_USER" padrão não for encontrada no banco.
+     */
+    public User prepareSyncUser(UserSyncDTO dto) {
         validateUserExists(dto.cpf(), dto.email());
 
         //Converter DTO para Entidade
@@ -140,65 +535,87 @@ public class UserService {
         user.setComplete(false);
 
         //Gera uma senha temporária
+        RequestDeadline.check("hash");
         String temporaryPassword = passwordEncoder.encode(String.valueOf(Instant.now().toEpochMilli()));
         user.setPassword(temporaryPassword);
 
-        return userRepository.save(user);
+        return user;
+    }
+
+    /**
+     * Grava um usuário montado por {@link #prepareUser} ou {@link #prepareSyncUser} junto com o
+     * evento {@code CREATED} (usuário completo) ou {@code SYNCED} (incompleto), atomicamente.
+     * Participa da transação em andamento, se houver.
+     *
+     * @param user O usuário ainda não salvo.
+     * @return A entidade User salva no banco de dados.
+     */
+    public User saveNewUser(User user) {
+        UserEventType type = user.isComplete() ? UserEventType.CREATED : UserEventType.SYNCED;
+        return transactionTemplate.execute(status -> {
+            User saved = userRepository.save(user);
+            userEventOutbox.record(type, saved);
+            return saved;
+        });
     }
 
     /**
      * Atualiza os dados (nome completo, data de nascimento) de um usuário existente.
      * O solicitante deve ser o próprio usuário (dono) ou um ADMIN.
+     * <p>
+     * A alteração é feita em um único {@code UPDATE}, sem carregar a entidade antes; o usuário
+     * atualizado é relido em seguida, na mesma transação.
      *
      * @param targetId       O ID (UUID) do usuário a ser atualizado.
      * @param dto            O DTO com os dados (parciais) a serem alterados.
-     * @param requesterId    O ID (UUID) do usuário que está fazendo a solicitação.
-     * @param requesterRoles As roles do usuário que está fazendo a solicitação.
+     * @param requester      O usuário que está fazendo a solicitação.
      * @return A entidade User atualizada e salva.
      * @throws UserNotFoundException se o usuário com o {@code targetId} não for encontrado.
-     * @throws AccessDeniedException (via AuthorizationHelper) se o {@code requesterId} não for o dono
+     * @throws AccessDeniedException (via AuthorizationHelper) se o {@code requester} não for o dono
      *                               do recurso nem um ADMIN.
      */
-    public User updateUser(String targetId, UserUpdateDTO dto, String requesterId, String requesterRoles) {
-        authorizationHelper.checkOwnershipOrAdmin(targetId, requesterId, requesterRoles);
+    @Transactional
+    public User updateUser(String targetId, UserUpdateDTO dto, RequesterPrincipal requester) {
+        authorizationHelper.checkOwnershipOrAdmin(targetId, requester);
 
-        User user = userRepository.findActiveUserById(targetId)
-                .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado."));
+        String fullname = dto.fullname() != null && !dto.fullname().isBlank() ? dto.fullname() : null;
 
-        if (dto.fullname() != null && !dto.fullname().isBlank()) {
-            user.setFullname(dto.fullname());
-        }
-
-        if (dto.birth_date() != null) {
-            user.setBirthDate(dto.birth_date());
-        }
-
-        if (user.getBirthDate() != null && user.getFullname() != null) {
-            user.setComplete(true);
+        if (userRepository.updateActiveUser(targetId, fullname, dto.birth_date(), Instant.now()) == 0) {
+            throw new UserNotFoundException("Usuário não encontrado.");
         }
+        // Relida na mesma transação de escrita (primário), com as roles no mesmo SELECT
+        User saved = userRepository.findActiveUsersByIdIn(List.of(targetId)).stream().findFirst()
+                .orElseThrow(() -> new UserNotFoundException("Usuário não encontrado."));
 
-        return userRepository.save(user);
+        // O cache é atualizado após o commit (UserLookupCache#onUserChanged)
+        userEventOutbox.record(UserEventType.UPDATED, saved);
+        readYourWritesTracker.markWritten(targetId);
+        return saved;
     }
 
     /**
      * Exclui (softdelete) um usuário do banco de dados.
      * O solicitante deve ser o próprio usuário (dono) ou um ADMIN.
+     * <p>
+     * A exclusão é feita em um único {@code UPDATE}; um usuário já excluído é tratado como
+     * não encontrado.
      *
      * @param targetId       O ID (UUID) do usuário a ser excluído.
-     * @param requesterId    O ID (UUID) do usuário que está fazendo a solicitação.
-     * @param requesterRoles As roles do usuário que está fazendo a solicitação.
+     * @param requester      O usuário que está fazendo a solicitação.
      * @throws UserNotFoundException se o usuário com o {@code targetId} não for encontrado.
-     * @throws AccessDeniedException (via AuthorizationHelper) se o {@code requesterId} não for o dono
+     * @throws AccessDeniedException (via AuthorizationHelper) se o {@code requester} não for o dono
      *                               do recurso nem um ADMIN.
      */
-    public void deleteUser(String targetId, String requesterId, String requesterRoles) {
-        authorizationHelper.checkOwnershipOrAdmin(targetId, requesterId, requesterRoles);
+    @Transactional
+    public void deleteUser(String targetId, RequesterPrincipal requester) {
+        authorizationHelper.checkOwnershipOrAdmin(targetId, requester);
 
-        if (!userRepository.existsById(targetId)) {
+        if (userRepository.softDeleteActiveById(targetId, Instant.now()) == 0) {
             throw new UserNotFoundException("Usuário não encontrado.");
         }
 
-        userRepository.deleteById(targetId);
+        userEventOutbox.recordDeleted(targetId);
+        readYourWritesTracker.markWritten(targetId);
     }
 
     /**
@@ -219,13 +636,60 @@ public class UserService {
         }
     }
 
+    /**
+     * Busca um usuário ativo pelo CPF. Buscas simultâneas pelo mesmo CPF compartilham
+     * uma única consulta ({@link UserLookupCoalescer}).
+     *
+     * @param cpfString O CPF, com ou sem formatação.
+     * @return O usuário encontrado.
+     * @throws UserNotFoundException se nenhum usuário ativo tiver o CPF.
+     */
     public User findByCpf(String cpfString) {
+        CPF cpfObj = parseCpf(cpfString);
+
+        return userLookupCoalescer.findActiveUserByCpf(cpfObj)
+                .orElseThrow(() -> new UserNotFoundException("CPF não encontrado: " + cpfString));
+
+    }
+
+    /**
+     * Busca apenas a versão (ID e data da última alteração) de um usuário ativo pelo CPF.
+     *
+     * @param cpfString O CPF, com ou sem formatação.
+     * @return A versão do usuário.
+     * @throws UserNotFoundException se nenhum usuário ativo tiver o CPF.
+     */
+    @Transactional(readOnly = true)
+    public UserVersionDTO getUserVersionByCpf(String cpfString) {
+        CPF cpfObj = parseCpf(cpfString);
+
+        return userRepository.findActiveUserVersionByCpf(cpfObj)
+                .orElseThrow(() -> new UserNotFoundException("CPF não encontrado: " + cpfString));
+    }
+
+    private CPF parseCpf(String cpfString) {
         String cpfLimpo = cpfString.replaceAll("[^0-9]", "");
         // Cria o objeto CPF (isso valida o formato também)
-        CPF cpfObj = new CPF(cpfLimpo);
+        return new CPF(cpfLimpo);
+    }
 
-        return userRepository.findActiveUserByCpf(cpfObj)
-                .orElseThrow(() -> new UserNotFoundException("CPF não encontrado: " + cpfString));
+    /**
+     * Transação somente leitura, enviada à réplica (se configurada).
+     */
+    private TransactionTemplate readOnlyTransaction() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        return readOnly;
+    }
 
+    /**
+     * Executa uma leitura do usuário, enviando-a ao banco principal se ele foi alterado
+     * há pouco, para não devolver o dado antigo da réplica.
+     */
+    private <T> T readUpToDate(String userId, Supplier<T> query) {
+        if (readYourWritesTracker.isRecentlyWritten(userId)) {
+            return ReplicaRoutingDataSource.callOnPrimary(query);
+        }
+        return query.get();
     }
 }
\ No newline at end of file
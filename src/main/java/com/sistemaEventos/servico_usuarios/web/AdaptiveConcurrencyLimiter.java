@@ -0,0 +1,87 @@
+package com.sistemaEventos.servico_usuarios.web;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limite de concorrência adaptativo (AIMD) guiado pela latência medida.
+ * <p>
+ * Enquanto as requisições terminam abaixo da latência alvo e o limite está sendo usado,
+ * o limite cresce aos poucos (cerca de +1 a cada "limite" requisições). Requisições acima da
+ * latência alvo reduzem o limite em 10%, até o mínimo, no máximo uma vez a cada intervalo da
+ * latência alvo: uma rajada de requisições lentas (ex: logo após o início, antes do JIT) é um
+ * único sinal de sobrecarga, e não derruba o limite ao mínimo de uma vez. Assim, quando o recurso
+ * por trás (CPU, banco) satura, o limite cai rapidamente e o excesso é rejeitado em vez
+ * de entrar na fila e aumentar a latência de todos.
+ */
+class AdaptiveConcurrencyLimiter {
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private volatile double limit;
+    private long lastBackoffNanos;
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long targetLatencyNanos) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.lastBackoffNanos = System.nanoTime() - targetLatencyNanos;
+    }
+
+    /**
+     * Reserva uma vaga, se houver.
+     *
+     * @return {@code true} se a requisição pode seguir; nesse caso {@link #release} deve ser chamado ao final.
+     */
+    boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Conta a requisição sem aplicar o limite (bulkheads desativados); {@link #release} deve ser
+     * chamado ao final.
+     */
+    void acquire() {
+        inflight.incrementAndGet();
+    }
+
+    /**
+     * Libera a vaga e ajusta o limite com a latência da requisição.
+     *
+     * @param latencyNanos A duração da requisição.
+     */
+    void release(long latencyNanos) {
+        int inflightBefore = inflight.getAndDecrement();
+        synchronized (this) {
+            if (latencyNanos > targetLatencyNanos) {
+                long now = System.nanoTime();
+                if (now - lastBackoffNanos >= targetLatencyNanos) {
+                    limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                    lastBackoffNanos = now;
+                }
+            } else if (inflightBefore * 2 >= limit) {
+                // Só cresce se o limite atual estiver sendo usado (evita crescer sem carga)
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        }
+    }
+
+    int limit() {
+        return (int) limit;
+    }
+
+    int inflight() {
+        return inflight.get();
+    }
+}
@@ -0,0 +1,228 @@
+package com.sistemaEventos.servico_usuarios.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sistemaEventos.servico_usuarios.exception.ApiErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bulkheads por classe de endpoint, cada um com um limite de concorrência adaptativo
+ * ({@link AdaptiveConcurrencyLimiter}).
+ * <p>
+ * Leituras baratas, autenticação (BCrypt, CPU) e chamadas em massa/administrativas dividem
+ * o mesmo pool do Tomcat e o mesmo pool de conexões. Com um limite por classe, uma classe
+ * sobrecarregada (ex: um pico de logins) rejeita o excesso rapidamente sem aumentar a latência
+ * das demais:
+ * <ul>
+ *     <li>{@code READ}: {@code GET /users/me}, {@code /users/{id}}, {@code /users/search} — responde {@code 503};</li>
+ *     <li>{@code WRITE}: {@code PUT}/{@code DELETE /users/{id}} — responde {@code 503};</li>
+ *     <li>{@code AUTH}: {@code /auth/**} e {@code POST /users/sync} (BCrypt) — responde {@code 429};</li>
+ *     <li>{@code BULK}: {@code GET /users}, {@code /users/changes}, {@code /users/batch} — responde {@code 429}.</li>
+ * </ul>
+ * O {@code 503} (com {@code Retry-After}) permite ao gateway repetir a leitura em outra instância;
+ * o {@code 429} pede ao cliente que reduza o ritmo das chamadas caras. O feed de eventos
+ * ({@code /users/events}, long-poll e SSE) e o Actuator não são limitados. Uma requisição assíncrona
+ * ocupa a vaga até o processamento assíncrono terminar, e não apenas durante o primeiro despacho.
+ * <p>
+ * Os valores de cada classe podem ser ajustados com
+ * {@code servico-usuarios.bulkhead.<classe>.initial-limit}, {@code min-limit}, {@code max-limit} e
+ * {@code target-latency-ms} (ex: {@code servico-usuarios.bulkhead.auth.max-limit=64}). Métricas:
+ * {@code users.bulkhead.limit}, {@code users.bulkhead.inflight} e {@code users.bulkhead.rejected},
+ * com a tag {@code class}.
+ * <p>
+ * Com {@code servico-usuarios.bulkhead.enabled=false}, nada é rejeitado, mas as requisições
+ * continuam contadas em {@code users.bulkhead.inflight}: é o sinal de carga publicado no Eureka
+ * ({@link com.sistemaEventos.servico_usuarios.discovery.LoadMetadataPublisher}).
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class BulkheadFilter extends OncePerRequestFilter {
+    private static final int CORES = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * As classes de endpoint, com os valores padrão dos limites.
+     */
+    enum EndpointClass {
+        READ(50, 10, 400, Duration.ofMillis(250), HttpStatus.SERVICE_UNAVAILABLE),
+        WRITE(20, 5, 200, Duration.ofMillis(500), HttpStatus.SERVICE_UNAVAILABLE),
+        // BCrypt ocupa um núcleo por operação: o limite acompanha o número de núcleos
+        AUTH(CORES * 2, CORES, CORES * 8, Duration.ofMillis(1000), HttpStatus.TOO_MANY_REQUESTS),
+        BULK(4, 1, 32, Duration.ofMillis(3000), HttpStatus.TOO_MANY_REQUESTS);
+
+        private final int initialLimit;
+        private final int minLimit;
+        private final int maxLimit;
+        private final Duration targetLatency;
+        private final HttpStatus rejectionStatus;
+
+        EndpointClass(int initialLimit, int minLimit, int maxLimit, Duration targetLatency, HttpStatus rejectionStatus) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.targetLatency = targetLatency;
+            this.rejectionStatus = rejectionStatus;
+        }
+    }
+
+    private final Map<EndpointClass, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> rejected = new EnumMap<>(EndpointClass.class);
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    public BulkheadFilter(ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry,
+                          Environment environment,
+                          @Value("${servico-usuarios.bulkhead.enabled:true}") boolean enabled) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            String prefix = "servico-usuarios.bulkhead." + endpointClass.name().toLowerCase(Locale.ROOT) + ".";
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                    environment.getProperty(prefix + "initial-limit", Integer.class, endpointClass.initialLimit),
+                    environment.getProperty(prefix + "min-limit", Integer.class, endpointClass.minLimit),
+                    environment.getProperty(prefix + "max-limit", Integer.class, endpointClass.maxLimit),
+                    Duration.ofMillis(environment.getProperty(prefix + "target-latency-ms", Long.class,
+                            endpointClass.targetLatency.toMillis())).toNanos());
+            limiters.put(endpointClass, limiter);
+
+            String tag = endpointClass.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("users.bulkhead.limit", limiter, AdaptiveConcurrencyLimiter::limit)
+                    .description("Limite de concorrência atual da classe de endpoint")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            Gauge.builder("users.bulkhead.inflight", limiter, AdaptiveConcurrencyLimiter::inflight)
+                    .description("Requisições em andamento da classe de endpoint")
+                    .tag("class", tag)
+                    .register(meterRegistry);
+            rejected.put(endpointClass, Counter.builder("users.bulkhead.rejected")
+                    .description("Requisições rejeitadas por excesso de concorrência")
+                    .tag("class", tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = classify(request);
+        if (endpointClass == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        AdaptiveConcurrencyLimiter limiter = limiters.get(endpointClass);
+        if (!enabled) {
+            limiter.acquire();
+        } else if (!limiter.tryAcquire()) {
+            rejected.get(endpointClass).increment();
+            reject(response, endpointClass.rejectionStatus);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(limiter, start));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                limiter.release(System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Identifica a classe do endpoint pelo método e caminho.
+     *
+     * @return A classe, ou {@code null} para requisições não limitadas.
+     */
+    static EndpointClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        HttpMethod method = HttpMethod.valueOf(request.getMethod());
+
+        // A sincronização grava um único usuário e paga um BCrypt (senha temporária)
+        if (path.startsWith("/auth/") || path.equals("/users/sync")) {
+            return EndpointClass.AUTH;
+        }
+        if (!path.equals("/users") && !path.startsWith("/users/")) {
+            return null;
+        }
+        if (path.startsWith("/users/events")) {
+            return null;
+        }
+        if (path.equals("/users") || path.equals("/users/changes")
+                || path.equals("/users/batch")) {
+            return EndpointClass.BULK;
+        }
+        if (HttpMethod.GET.equals(method)) {
+            return EndpointClass.READ;
+        }
+        if (HttpMethod.PUT.equals(method) || HttpMethod.DELETE.equals(method)) {
+            return EndpointClass.WRITE;
+        }
+        return null;
+    }
+
+    /**
+     * Libera a vaga de uma requisição assíncrona quando ela termina. O container sempre chama
+     * {@code onComplete}, inclusive após um timeout ou erro.
+     */
+    private record ReleaseOnCompletion(AdaptiveConcurrencyLimiter limiter, long start) implements AsyncListener {
+        @Override
+        public void onComplete(AsyncEvent event) {
+            limiter.release(System.nanoTime() - start);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {}
+
+        @Override
+        public void onError(AsyncEvent event) {}
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Um novo ciclo assíncrono descarta os listeners anteriores
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status) throws IOException {
+        ApiErrorResponse body = new ApiErrorResponse(
+                status,
+                "Serviço sobrecarregado. Tente novamente em instantes.",
+                Instant.now()
+        );
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
@@ -0,0 +1,59 @@
+package com.sistemaEventos.servico_usuarios.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Filtro que associa cada requisição a um ID de correlação nos logs.
+ * <p>
+ * O ID é lido dos headers injetados pelo API Gateway ({@code X-Correlation-Id} ou
+ * {@code X-Request-Id}); se nenhum estiver presente, um novo UUID é gerado. O ID e o
+ * {@code X-User-Id} do solicitante são colocados no MDC, aparecendo em todas as linhas
+ * de log da requisição, e o ID é devolvido no header {@code X-Correlation-Id} da resposta.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdFilter extends OncePerRequestFilter {
+    public static final String CORRELATION_ID_HEADER = "X-Correlation-Id";
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String USER_ID_HEADER = "X-User-Id";
+
+    public static final String CORRELATION_ID_MDC_KEY = "correlationId";
+    public static final String USER_ID_MDC_KEY = "userId";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String correlationId = request.getHeader(CORRELATION_ID_HEADER);
+        if (correlationId == null || correlationId.isBlank()) {
+            correlationId = request.getHeader(REQUEST_ID_HEADER);
+        }
+        if (correlationId == null || correlationId.isBlank()) {
+            correlationId = UUID.randomUUID().toString();
+        }
+
+        MDC.put(CORRELATION_ID_MDC_KEY, correlationId);
+        String userId = request.getHeader(USER_ID_HEADER);
+        if (userId != null) {
+            MDC.put(USER_ID_MDC_KEY, userId);
+        }
+        response.setHeader(CORRELATION_ID_HEADER, correlationId);
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(CORRELATION_ID_MDC_KEY);
+            MDC.remove(USER_ID_MDC_KEY);
+        }
+    }
+}
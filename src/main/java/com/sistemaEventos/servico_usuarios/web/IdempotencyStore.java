@@ -0,0 +1,206 @@
+package com.sistemaEventos.servico_usuarios.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sistemaEventos.servico_usuarios.config.ReplicaRoutingDataSource;
+import com.sistemaEventos.servico_usuarios.exception.RequestInProgressException;
+import com.sistemaEventos.servico_usuarios.model.IdempotencyKey;
+import com.sistemaEventos.servico_usuarios.repository.IdempotencyKeyRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Guarda no banco as respostas das requisições enviadas com o header {@code Idempotency-Key}.
+ * <p>
+ * Clientes offline reenviam {@code POST /auth/register} e {@code POST /users/sync} quando a
+ * resposta não chega, e a repetição normalmente cai em outra instância do serviço. Com a mesma
+ * chave, a repetição recebe a resposta original (com o header {@code Idempotent-Replayed: true})
+ * sem recalcular o BCrypt nem gravar o usuário de novo.
+ * <p>
+ * A chave e a resposta ({@link IdempotencyKey}) são gravadas na mesma transação da ação: ou
+ * ambas são confirmadas, ou nenhuma. A chave é inserida no início da transação; uma repetição
+ * simultânea (em qualquer instância) aguarda no banco até a execução original terminar e então
+ * recebe a resposta dela ou, se a original falhou, executa normalmente. Se a espera pelo
+ * bloqueio falhar, a repetição recebe {@code 409} e pode tentar novamente.
+ * <p>
+ * As chaves expiram após {@code servico-usuarios.idempotency.ttl-seconds} (padrão {@code 86400}).
+ */
+@Component
+public class IdempotencyStore {
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Counter executed;
+    private final Counter replayed;
+
+    public IdempotencyStore(
+            IdempotencyKeyRepository idempotencyKeyRepository,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${servico-usuarios.idempotency.ttl-seconds:86400}") long ttlSeconds) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.executed = Counter.builder("users.idempotency.requests")
+                .description("Requisições com Idempotency-Key, executadas ou respondidas com a resposta original")
+                .tag("outcome", "executed")
+                .register(meterRegistry);
+        this.replayed = Counter.builder("users.idempotency.requests")
+                .description("Requisições com Idempotency-Key, executadas ou respondidas com a resposta original")
+                .tag("outcome", "replayed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Executa a ação uma única vez por chave de idempotência.
+     * <p>
+     * A ação é dividida em duas etapas: {@code prepare} roda fora de transação (validações,
+     * BCrypt) e {@code action} roda na transação que grava a chave, e deve participar dela
+     * (ex: {@code TransactionTemplate} com a propagação padrão).
+     *
+     * @param scope    O endpoint (as chaves de endpoints diferentes não colidem).
+     * @param key      O valor do header {@code Idempotency-Key} (sem o header, a ação é sempre executada).
+     * @param request  O corpo da requisição, usado para detectar a reutilização da chave com outro conteúdo.
+     * @param bodyType O tipo do corpo da resposta, para reconstruí-lo a partir do JSON guardado.
+     * @param prepare  A etapa executada fora da transação.
+     * @param action   A gravação, executada na transação da chave com o resultado de {@code prepare}.
+     * @return A resposta da execução original.
+     * @throws IllegalArgumentException se a chave for inválida ou já tiver sido usada com outro corpo.
+     * @throws RequestInProgressException se não for possível aguardar a execução original.
+     */
+    public <P, T> ResponseEntity<T> execute(String scope, String key, Object request, Class<T> bodyType,
+                                            Supplier<P> prepare, Function<P, ResponseEntity<T>> action) {
+        if (key == null) {
+            return action.apply(prepare.get());
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("O header " + IDEMPOTENCY_KEY_HEADER + " deve ter entre 1 e "
+                    + MAX_KEY_LENGTH + " caracteres.");
+        }
+
+        String id = scope + ":" + key;
+        byte[] fingerprint = fingerprint(request);
+
+        Optional<ResponseEntity<T>> original = findOriginal(id, fingerprint, bodyType);
+        if (original.isPresent()) {
+            return original.get();
+        }
+
+        P prepared = prepare.get();
+        try {
+            ResponseEntity<T> response = transactionTemplate.execute(status -> {
+                IdempotencyKey record = new IdempotencyKey(id, fingerprint);
+                try {
+                    // Gravada antes da ação: uma execução simultânea com a mesma chave espera aqui
+                    idempotencyKeyRepository.saveAndFlush(record);
+                } catch (DataIntegrityViolationException e) {
+                    throw new KeyAlreadyUsedException(e);
+                }
+                ResponseEntity<T> result = action.apply(prepared);
+                record.setResponse(result.getStatusCode().value(), toJson(result.getBody()));
+                return result;
+            });
+            executed.increment();
+            return response;
+        } catch (KeyAlreadyUsedException e) {
+            // Outra execução com a mesma chave foi confirmada enquanto esta preparava a sua
+            return findOriginal(id, fingerprint, bodyType).orElseThrow(() -> inProgress(e));
+        } catch (PessimisticLockingFailureException e) {
+            throw inProgress(e);
+        }
+    }
+
+    /**
+     * Remove as chaves expiradas.
+     */
+    @Scheduled(fixedDelayString = "${servico-usuarios.idempotency.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        Instant createdBefore = Instant.now().minus(ttl);
+        transactionTemplate.executeWithoutResult(status -> idempotencyKeyRepository.deleteCreatedBefore(createdBefore));
+    }
+
+    private <T> Optional<ResponseEntity<T>> findOriginal(String id, byte[] fingerprint, Class<T> bodyType) {
+        // No banco principal: a réplica pode ainda não ter a chave recém-gravada
+        Optional<IdempotencyKey> stored = ReplicaRoutingDataSource.callOnPrimary(() -> idempotencyKeyRepository.findById(id));
+        if (stored.isEmpty()) {
+            return Optional.empty();
+        }
+        if (!Arrays.equals(stored.get().getFingerprint(), fingerprint)) {
+            throw new IllegalArgumentException("O " + IDEMPOTENCY_KEY_HEADER
+                    + " informado já foi usado com outra requisição.");
+        }
+
+        replayed.increment();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(REPLAYED_HEADER, "true");
+        return Optional.of(new ResponseEntity<>(fromJson(stored.get().getBody(), bodyType), headers,
+                HttpStatusCode.valueOf(stored.get().getStatus())));
+    }
+
+    private byte[] fingerprint(Object request) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Erro ao calcular a impressão digital da requisição.", e);
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Erro ao serializar a resposta idempotente.", e);
+        }
+    }
+
+    private <T> T fromJson(String body, Class<T> bodyType) {
+        try {
+            return objectMapper.readValue(body, bodyType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Erro ao ler a resposta idempotente guardada.", e);
+        }
+    }
+
+    private static RequestInProgressException inProgress(Exception cause) {
+        RequestInProgressException exception = new RequestInProgressException("A requisição com este "
+                + IDEMPOTENCY_KEY_HEADER + " ainda está em andamento.");
+        exception.initCause(cause);
+        return exception;
+    }
+
+    /**
+     * A chave já foi gravada por outra execução; desfaz a transação desta.
+     */
+    private static final class KeyAlreadyUsedException extends RuntimeException {
+        private KeyAlreadyUsedException(Throwable cause) {
+            super(cause);
+        }
+    }
+}
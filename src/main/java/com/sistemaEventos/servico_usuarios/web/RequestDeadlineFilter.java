@@ -0,0 +1,131 @@
+package com.sistemaEventos.servico_usuarios.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sistemaEventos.servico_usuarios.config.RequestDeadline;
+import com.sistemaEventos.servico_usuarios.exception.ApiErrorResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Lê o prazo da requisição informado pelo API Gateway e o disponibiliza em {@link RequestDeadline}.
+ * <p>
+ * Headers aceitos (se ambos forem enviados, vale o prazo mais curto; valores inválidos são ignorados):
+ * <ul>
+ *     <li>{@code X-Request-Timeout}: tempo restante, em milissegundos;</li>
+ *     <li>{@code X-Request-Deadline}: instante limite, em milissegundos desde a época (epoch).</li>
+ * </ul>
+ * Prazos maiores que {@code servico-usuarios.deadline.max-timeout-ms} (padrão {@code 300000}) são
+ * limitados a esse valor: os headers vêm de fora e um valor como {@code Long.MAX_VALUE} não pode
+ * estourar as contas do prazo.
+ * Requisições que já chegam com o prazo esgotado são respondidas com {@code 504} sem executar
+ * nada. As demais seguem normalmente; o prazo é verificado antes do BCrypt e aplicado como timeout
+ * dos comandos SQL. Todos os prazos excedidos são contados em
+ * {@code users.requests.deadline.exceeded}, com a tag {@code stage} ({@code arrival},
+ * {@code hash} ou {@code query}).
+ * <p>
+ * Executa antes dos bulkheads ({@link BulkheadFilter}), para que requisições já expiradas não
+ * ocupem vagas dos limites de concorrência.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+    public static final String DEADLINE_HEADER = "X-Request-Deadline";
+    public static final String EXCEEDED_METRIC = "users.requests.deadline.exceeded";
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Duration maxTimeout;
+
+    public RequestDeadlineFilter(ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${servico-usuarios.deadline.max-timeout-ms:300000}") long maxTimeoutMs) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.maxTimeout = Duration.ofMillis(maxTimeoutMs);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Duration timeout = resolveTimeout(request, Instant.now(), maxTimeout);
+        if (timeout == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!timeout.isPositive()) {
+            meterRegistry.counter(EXCEEDED_METRIC, "stage", "arrival").increment();
+            reject(response);
+            return;
+        }
+
+        RequestDeadline.set(timeout);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
+    /**
+     * @param now O instante atual (referência do {@code X-Request-Deadline}).
+     * @param maxTimeout O maior prazo aceito.
+     * @return O menor prazo entre os headers, limitado a {@code maxTimeout}, ou {@code null} se
+     * nenhum for válido.
+     */
+    static Duration resolveTimeout(HttpServletRequest request, Instant now, Duration maxTimeout) {
+        Duration timeout = null;
+
+        Long timeoutMs = parseLong(request.getHeader(TIMEOUT_HEADER));
+        if (timeoutMs != null) {
+            timeout = Duration.ofMillis(timeoutMs);
+        }
+
+        Long deadlineMs = parseLong(request.getHeader(DEADLINE_HEADER));
+        if (deadlineMs != null) {
+            // Entre instantes (e não em long): qualquer epoch em milissegundos cabe em um Instant
+            Duration untilDeadline = Duration.between(now, Instant.ofEpochMilli(deadlineMs));
+            if (timeout == null || untilDeadline.compareTo(timeout) < 0) {
+                timeout = untilDeadline;
+            }
+        }
+        return timeout != null && timeout.compareTo(maxTimeout) > 0 ? maxTimeout : timeout;
+    }
+
+    private static Long parseLong(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        ApiErrorResponse body = new ApiErrorResponse(
+                HttpStatus.GATEWAY_TIMEOUT,
+                "O prazo da requisição foi excedido.",
+                Instant.now()
+        );
+        response.setStatus(HttpStatus.GATEWAY_TIMEOUT.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
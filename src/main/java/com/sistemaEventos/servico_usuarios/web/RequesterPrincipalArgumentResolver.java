@@ -0,0 +1,49 @@
+package com.sistemaEventos.servico_usuarios.web;
+
+import com.sistemaEventos.servico_usuarios.security.RequesterPrincipal;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.MissingRequestHeaderException;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Injeta o {@link RequesterPrincipal} nos parâmetros dos controladores.
+ * <p>
+ * Os headers {@code X-User-Id} e {@code X-User-Roles} são lidos e interpretados uma única vez;
+ * o principal fica guardado como atributo da requisição. A ausência de um dos headers gera
+ * {@link MissingRequestHeaderException}, como um {@code @RequestHeader} obrigatório.
+ */
+public class RequesterPrincipalArgumentResolver implements HandlerMethodArgumentResolver {
+    private static final String ATTRIBUTE = RequesterPrincipal.class.getName();
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.getParameterType() == RequesterPrincipal.class;
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory)
+            throws MissingRequestHeaderException {
+        Object cached = webRequest.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cached != null) {
+            return cached;
+        }
+
+        String userId = webRequest.getHeader(RequesterPrincipal.USER_ID_HEADER);
+        if (userId == null) {
+            throw new MissingRequestHeaderException(RequesterPrincipal.USER_ID_HEADER, parameter);
+        }
+        String roles = webRequest.getHeader(RequesterPrincipal.ROLES_HEADER);
+        if (roles == null) {
+            throw new MissingRequestHeaderException(RequesterPrincipal.ROLES_HEADER, parameter);
+        }
+
+        RequesterPrincipal principal = RequesterPrincipal.of(userId, roles);
+        webRequest.setAttribute(ATTRIBUTE, principal, RequestAttributes.SCOPE_REQUEST);
+        return principal;
+    }
+}
@@ -3,7 +3,7 @@ package com.sistemaEventos.servico_usuarios;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "servico-usuarios.warmup.enabled=false")
 class ServicoUsuariosApplicationTests {
 
 	@Test
@@ -0,0 +1,61 @@
+package com.sistemaEventos.servico_usuarios.config;
+
+import com.sistemaEventos.servico_usuarios.exception.DeadlineExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Usa um banco H2 em memória no lugar do banco principal.
+ */
+class DeadlineAwareDataSourceTests {
+    private DeadlineAwareDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DeadlineAwareDataSource(new DriverManagerDataSource(
+                "jdbc:h2:mem:deadline;DB_CLOSE_DELAY=-1", "sa", ""));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void statementsWithoutDeadlineAreUnchanged() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+            assertEquals(0, statement.getQueryTimeout());
+        }
+    }
+
+    @Test
+    void statementsReceiveTheRemainingTimeRoundedUp() throws Exception {
+        RequestDeadline.set(Duration.ofMillis(2500));
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+            assertEquals(3, statement.getQueryTimeout());
+        }
+    }
+
+    @Test
+    void expiredDeadlinePreventsNewStatements() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            RequestDeadline.set(Duration.ZERO);
+
+            DeadlineExceededException ex = assertThrows(DeadlineExceededException.class,
+                    () -> connection.prepareStatement("SELECT 1"));
+            assertEquals("query", ex.getStage());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.sistemaEventos.servico_usuarios.discovery;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoadMetadataPublisherTests {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ApplicationInfoManager manager = new ApplicationInfoManager(null,
+            InstanceInfo.Builder.newBuilder().setAppName("servico-usuarios").build());
+
+    @Test
+    void gaugesArePublishedWithTheScore() {
+        Gauge.builder("users.bulkhead.inflight", () -> 3).tag("class", "read").register(meterRegistry);
+        Gauge.builder("users.bulkhead.inflight", () -> 1).tag("class", "auth").register(meterRegistry);
+        Gauge.builder("users.password.active", () -> 2).register(meterRegistry);
+        Gauge.builder("hikaricp.connections.pending", () -> 1).tag("pool", "HikariPool-1").register(meterRegistry);
+        Gauge.builder("hikaricp.connections.pending", () -> Double.NaN).tag("pool", "fechado").register(meterRegistry);
+
+        publisher(manager).publish();
+
+        Map<String, String> metadata = manager.getInfo().getMetadata();
+        assertEquals("4", metadata.get("load.inflight"));
+        assertEquals("2", metadata.get("load.hashing"));
+        assertEquals("1", metadata.get("load.db-pending"));
+        assertEquals("0", metadata.get("load.p99-ms"));
+        // 4 + 4 × 2 + 2 × 1
+        assertEquals("14.0", metadata.get(LoadMetadataPublisher.SCORE_KEY));
+    }
+
+    @Test
+    void p99CountsOnlyTheRequestsSinceThePreviousPublication() {
+        Timer read = timer("/users/{id}");
+        Timer events = timer("/users/events");
+        Timer actuator = timer("/actuator/health");
+        LoadMetadataPublisher publisher = publisher(manager);
+
+        for (int i = 0; i < 100; i++) {
+            read.record(Duration.ofMillis(300));
+        }
+        // Long-poll e Actuator não contam
+        events.record(Duration.ofSeconds(30));
+        actuator.record(Duration.ofSeconds(5));
+        publisher.publish();
+
+        long p99 = Long.parseLong(manager.getInfo().getMetadata().get("load.p99-ms"));
+        // O percentil do Micrometer é aproximado
+        assertTrue(p99 >= 250 && p99 <= 350, "p99 = " + p99);
+        assertEquals(String.format(Locale.ROOT, "%.1f", p99 / 100.0),
+                manager.getInfo().getMetadata().get(LoadMetadataPublisher.SCORE_KEY));
+
+        // Sem requisições novas, o p99 das anteriores não conta mais
+        events.record(Duration.ofSeconds(30));
+        publisher.publish();
+        assertEquals("0", manager.getInfo().getMetadata().get("load.p99-ms"));
+        assertEquals("0.0", manager.getInfo().getMetadata().get(LoadMetadataPublisher.SCORE_KEY));
+    }
+
+    @Test
+    void withoutEurekaNothingIsPublished() {
+        Gauge.builder("users.bulkhead.inflight", () -> 3).tag("class", "read").register(meterRegistry);
+
+        assertDoesNotThrow(() -> new LoadMetadataPublisher(meterRegistry,
+                new StaticListableBeanFactory().getBeanProvider(ApplicationInfoManager.class)).publish());
+    }
+
+    private Timer timer(String uri) {
+        return Timer.builder("http.server.requests").tag("uri", uri).publishPercentiles(0.99).register(meterRegistry);
+    }
+
+    private LoadMetadataPublisher publisher(ApplicationInfoManager manager) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("applicationInfoManager", manager);
+        return new LoadMetadataPublisher(meterRegistry, beanFactory.getBeanProvider(ApplicationInfoManager.class));
+    }
+}
@@ -0,0 +1,32 @@
+package com.sistemaEventos.servico_usuarios.loadtest;
+
+/**
+ * Gera CPFs válidos e determinísticos para popular a base nos testes de carga.
+ */
+final class CpfGenerator {
+    private static final int BASE = 100_000_000;
+
+    private CpfGenerator() {}
+
+    /**
+     * Gera o CPF de número {@code index}, calculando os dois dígitos verificadores.
+     *
+     * @param index Um número entre 0 e 899.999.999.
+     * @return Um CPF válido de 11 dígitos (sem formatação).
+     */
+    static String cpf(int index) {
+        String base = String.valueOf(BASE + index);
+        int dig10 = checkDigit(base, 10);
+        int dig11 = checkDigit(base + dig10, 11);
+        return base + dig10 + dig11;
+    }
+
+    private static int checkDigit(String digits, int weight) {
+        int sum = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            sum += (digits.charAt(i) - '0') * (weight - i);
+        }
+        int r = 11 - (sum % 11);
+        return (r == 10 || r == 11) ? 0 : r;
+    }
+}
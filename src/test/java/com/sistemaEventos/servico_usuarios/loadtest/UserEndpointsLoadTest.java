@@ -0,0 +1,274 @@
+package com.sistemaEventos.servico_usuarios.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sistemaEventos.servico_usuarios.model.CPF;
+import com.sistemaEventos.servico_usuarios.model.Role;
+import com.sistemaEventos.servico_usuarios.model.User;
+import com.sistemaEventos.servico_usuarios.repository.RoleRepository;
+import com.sistemaEventos.servico_usuarios.repository.UserRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.KeyPairGenerator;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Teste de carga ponta a ponta dos principais endpoints do serviço.
+ * <p>
+ * Sobe a aplicação completa em uma porta aleatória contra um H2 em memória no modo
+ * PostgreSQL (sem Eureka), popula a base com {@code loadtest.users} usuários e dispara
+ * cada cenário com {@code loadtest.concurrency} clientes simultâneos. O relatório com
+ * p50, p99, máximo e throughput por endpoint é gravado em
+ * {@code target/loadtest/load-test-results.json}.
+ * <p>
+ * Para medir em um PostgreSQL real (ex: a busca por nome/e-mail com 1 milhão de usuários e os
+ * índices {@code pg_trgm}), informe {@code -Dloadtest.datasource.url=jdbc:postgresql://...},
+ * {@code -Dloadtest.datasource.username}, {@code -Dloadtest.datasource.password} e
+ * {@code -Dloadtest.users=1000000}; o banco deve estar vazio.
+ * <p>
+ * Executado apenas com o profile Maven {@code loadtest}.
+ */
+@Tag("load")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=${loadtest.datasource.url:jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1}",
+        "spring.datasource.username=${loadtest.datasource.username:sa}",
+        "spring.datasource.password=${loadtest.datasource.password:}",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "eureka.client.enabled=false",
+        "spring.cloud.discovery.enabled=false",
+        "jwt.expiration-time=3600000",
+        "grpc.server.port=-1",
+        "servico-usuarios.warmup.enabled=false",
+        // Mede a latência dos endpoints, não os bulkheads: sem eles, nenhuma requisição é rejeitada
+        "servico-usuarios.bulkhead.enabled=false"
+})
+class UserEndpointsLoadTest {
+    private static final String PASSWORD = "senha-carga-123";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Value("${loadtest.users:1000}")
+    private int seededUsers;
+    @Value("${loadtest.concurrency:16}")
+    private int concurrency;
+    @Value("${loadtest.requests:2000}")
+    private int requests;
+    @Value("${loadtest.hashing-requests:100}")
+    private int hashingRequests;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final List<String> seededIds = new ArrayList<>();
+    private final AtomicInteger nextCpfIndex = new AtomicInteger();
+
+    @DynamicPropertySource
+    static void jwtKey(DynamicPropertyRegistry registry) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        String privateKey = Base64.getEncoder().encodeToString(generator.generateKeyPair().getPrivate().getEncoded());
+        registry.add("jwt.private-key", () -> privateKey);
+    }
+
+    @BeforeAll
+    void seed() {
+        Role roleUser = new Role();
+        roleUser.setId(1);
+        roleUser.setName("ROLE_USER");
+        Role roleAdmin = new Role();
+        roleAdmin.setId(2);
+        roleAdmin.setName("ROLE_ADMIN");
+        roleRepository.saveAll(List.of(roleUser, roleAdmin));
+
+        // Um único hash para todos: popular a base não deve pagar N vezes o BCrypt
+        String encodedPassword = passwordEncoder.encode(PASSWORD);
+        List<User> batch = new ArrayList<>();
+        for (int i = 0; i < seededUsers; i++) {
+            User user = new User();
+            user.setId(UUID.randomUUID().toString());
+            user.setCpf(new CPF(CpfGenerator.cpf(i)));
+            user.setFullname("Usuario Carga " + i);
+            user.setEmail("carga" + i + "@example.com");
+            user.setPassword(encodedPassword);
+            user.setBirthDate(LocalDate.of(1990, 1, 1).plusDays(i % 10_000));
+            user.setComplete(true);
+            user.setRoles(Set.of(roleUser));
+            batch.add(user);
+            seededIds.add(user.getId());
+
+            if (batch.size() == 500) {
+                userRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        userRepository.saveAll(batch);
+        nextCpfIndex.set(seededUsers);
+    }
+
+    @Test
+    void measureEndpoints() throws Exception {
+        Map<String, ScenarioResult> results = new LinkedHashMap<>();
+
+        results.put("GET /users/me", run(requests, i -> get("/users/me", seededIds.get(i % seededIds.size()))));
+        results.put("GET /users/search", run(requests, i -> get("/users/search?cpf=" + CpfGenerator.cpf(i % seededUsers), seededIds.get(0))));
+        // Prefixos de e-mail de seletividade variada ("carga1" a "carga999")
+        results.put("GET /users/search?q=", run(requests, i -> get("/users/search?q=carga" + (1 + i % 999) + "&limit=20",
+                seededIds.get(0), "ROLE_USER,ROLE_ADMIN")));
+        results.put("POST /auth/login", run(hashingRequests, i -> post("/auth/login",
+                "{\"email\":\"carga" + (i % seededUsers) + "@example.com\",\"password\":\"" + PASSWORD + "\"}")));
+        results.put("POST /auth/register", run(hashingRequests, i -> {
+            int index = nextCpfIndex.getAndIncrement();
+            return post("/auth/register", "{\"cpf\":\"" + CpfGenerator.cpf(index) + "\",\"fullname\":\"Novo " + index
+                    + "\",\"email\":\"novo" + index + "@example.com\",\"password\":\"" + PASSWORD
+                    + "\",\"birth_date\":\"1995-03-10\"}");
+        }));
+        results.put("POST /users/sync", run(hashingRequests, i -> {
+            int index = nextCpfIndex.getAndIncrement();
+            return post("/users/sync", "{\"cpf\":\"" + CpfGenerator.cpf(index) + "\",\"fullname\":\"Sync " + index
+                    + "\",\"email\":\"sync" + index + "@example.com\",\"created_at\":\"" + Instant.now() + "\"}");
+        }));
+
+        writeReport(results);
+
+        results.forEach((endpoint, result) ->
+                assertEquals(0, result.errors(), "Requisições com erro em " + endpoint));
+    }
+
+    /**
+     * Executa um cenário com {@code concurrency} clientes simultâneos e mede cada requisição.
+     */
+    private ScenarioResult run(int total, IntFunction<HttpRequest> requestFactory) throws Exception {
+        long[] latencies = new long[total];
+        AtomicInteger errors = new AtomicInteger();
+        AtomicInteger next = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        List<Future<?>> workers = new ArrayList<>();
+        for (int w = 0; w < concurrency; w++) {
+            workers.add(executor.submit(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < total) {
+                    HttpRequest request = requestFactory.apply(i);
+                    long begin = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    latencies[i] = System.nanoTime() - begin;
+                }
+                return null;
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        return ScenarioResult.of(latencies, errors.get(), elapsed, concurrency);
+    }
+
+    private HttpRequest get(String path, String requesterId) {
+        return get(path, requesterId, "ROLE_USER");
+    }
+
+    private HttpRequest get(String path, String requesterId, String requesterRoles) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("X-User-Id", requesterId)
+                .header("X-User-Roles", requesterRoles)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private void writeReport(Map<String, ScenarioResult> results) throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("seededUsers", seededUsers);
+        report.put("concurrency", concurrency);
+        report.put("endpoints", results);
+
+        File output = new File("target/loadtest/load-test-results.json");
+        output.getParentFile().mkdirs();
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output, report);
+    }
+
+    /**
+     * Resultado de um cenário: latências em milissegundos e throughput em requisições/segundo.
+     */
+    record ScenarioResult(int requests, int errors, int concurrency, double p50Ms, double p99Ms, double maxMs,
+                          double throughputPerSecond) {
+        static ScenarioResult of(long[] latenciesNanos, int errors, long elapsedNanos, int concurrency) {
+            long[] sorted = latenciesNanos.clone();
+            Arrays.sort(sorted);
+            return new ScenarioResult(
+                    sorted.length,
+                    errors,
+                    concurrency,
+                    percentile(sorted, 0.50),
+                    percentile(sorted, 0.99),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000.0,
+                    sorted.length / (elapsedNanos / 1_000_000_000.0)
+            );
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
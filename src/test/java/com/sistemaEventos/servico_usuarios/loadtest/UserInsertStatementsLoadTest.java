@@ -0,0 +1,208 @@
+package com.sistemaEventos.servico_usuarios.loadtest;
+
+import com.sistemaEventos.servico_usuarios.model.CPF;
+import com.sistemaEventos.servico_usuarios.model.User;
+import com.sistemaEventos.servico_usuarios.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.security.KeyPairGenerator;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Mede os comandos SQL da gravação de usuários novos (ID atribuído pela aplicação).
+ * <p>
+ * Verifica que {@code save}/{@code saveAll} de um usuário novo não consulta o banco antes do
+ * INSERT (o {@code merge} de um ID desconhecido faria um SELECT, mesmo sem carregar entidade) e
+ * que os INSERTs são enviados em lotes JDBC de {@code hibernate.jdbc.batch_size}. Os SELECTs são
+ * contados por um {@link StatementInspector} e os lotes, nas chamadas a
+ * {@link Statement#executeBatch()}; apenas os comandos da thread do teste são contados (as
+ * tarefas agendadas da aplicação também consultam o banco).
+ * <p>
+ * Executado apenas com o profile Maven {@code loadtest}.
+ */
+@Tag("load")
+@SpringBootTest(properties = {
+        "spring.datasource.url=${loadtest.datasource.url:jdbc:h2:mem:inserttest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1}",
+        "spring.datasource.username=${loadtest.datasource.username:sa}",
+        "spring.datasource.password=${loadtest.datasource.password:}",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "com.sistemaEventos.servico_usuarios.loadtest.UserInsertStatementsLoadTest$StatementCounter",
+        "eureka.client.enabled=false",
+        "spring.cloud.discovery.enabled=false",
+        "jwt.expiration-time=3600000",
+        "grpc.server.port=-1",
+        "servico-usuarios.warmup.enabled=false"
+})
+class UserInsertStatementsLoadTest {
+    private static final Logger log = LoggerFactory.getLogger(UserInsertStatementsLoadTest.class);
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${loadtest.users:1000}")
+    private int users;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int batchSize;
+
+    @DynamicPropertySource
+    static void jwtKey(DynamicPropertyRegistry registry) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        String privateKey = Base64.getEncoder().encodeToString(generator.generateKeyPair().getPrivate().getEncoded());
+        registry.add("jwt.private-key", () -> privateKey);
+    }
+
+    @Test
+    void saveAllInsertsWithoutSelectInJdbcBatches() {
+        List<User> batch = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            User user = new User();
+            user.setId(UUID.randomUUID().toString());
+            user.setCpf(new CPF(CpfGenerator.cpf(i)));
+            user.setFullname("Usuario Insert " + i);
+            user.setEmail("insert" + i + "@example.com");
+            user.setPassword("hash");
+            user.setBirthDate(LocalDate.of(1990, 1, 1));
+            user.setComplete(true);
+            batch.add(user);
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long start = System.nanoTime();
+        StatementCounter.start();
+        try {
+            userRepository.saveAll(batch);
+        } finally {
+            StatementCounter.stop();
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        log.info("saveAll de {} usuários: {} ms, {} SELECTs, {} INSERTs, {} lotes JDBC",
+                users, elapsedMillis, StatementCounter.SELECTS.get(), statistics.getEntityInsertCount(),
+                StatementCounter.BATCHES.get());
+
+        assertEquals(0, StatementCounter.SELECTS.get(), "Usuários novos não devem ser consultados antes do INSERT");
+        assertEquals(users, statistics.getEntityInsertCount());
+        assertEquals((users + batchSize - 1) / batchSize, StatementCounter.BATCHES.get(),
+                "Os INSERTs devem ser enviados em lotes de " + batchSize);
+    }
+
+    /**
+     * Conta os SELECTs preparados pelo Hibernate e os lotes JDBC executados na thread do teste.
+     */
+    public static class StatementCounter implements StatementInspector {
+        static final AtomicInteger SELECTS = new AtomicInteger();
+        static final AtomicInteger BATCHES = new AtomicInteger();
+        private static volatile Thread counted;
+
+        static void start() {
+            SELECTS.set(0);
+            BATCHES.set(0);
+            counted = Thread.currentThread();
+        }
+
+        static void stop() {
+            counted = null;
+        }
+
+        static boolean counting() {
+            return Thread.currentThread() == counted;
+        }
+
+        @Override
+        public String inspect(String sql) {
+            if (counting() && sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select")) {
+                SELECTS.incrementAndGet();
+            }
+            return sql;
+        }
+    }
+
+    @TestConfiguration
+    static class BatchCountingConfiguration {
+        /**
+         * Envolve o {@link DataSource} principal para contar as chamadas a {@code executeBatch}.
+         */
+        @Bean
+        static BeanPostProcessor batchCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+                    return proxy(DataSource.class, dataSource, result -> result instanceof Connection connection
+                            ? proxy(Connection.class, connection, statement -> statement instanceof Statement s
+                            ? countingStatement(s) : statement)
+                            : result);
+                }
+            };
+        }
+
+        private static Object countingStatement(Statement statement) {
+            Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                    : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+            return Proxy.newProxyInstance(BatchCountingConfiguration.class.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("executeBatch") && StatementCounter.counting()) {
+                            StatementCounter.BATCHES.incrementAndGet();
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static <T> T proxy(Class<T> type, T target, UnaryOperator<Object> wrapResult) {
+            InvocationHandler handler = (proxy, method, args) -> wrapResult.apply(invoke(target, method, args));
+            return type.cast(Proxy.newProxyInstance(BatchCountingConfiguration.class.getClassLoader(),
+                    new Class<?>[]{type}, handler));
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
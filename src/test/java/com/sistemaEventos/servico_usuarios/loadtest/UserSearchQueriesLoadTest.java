@@ -0,0 +1,245 @@
+package com.sistemaEventos.servico_usuarios.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sistemaEventos.servico_usuarios.dto.UserSearchMatch;
+import com.sistemaEventos.servico_usuarios.dto.UserSearchPageDTO;
+import com.sistemaEventos.servico_usuarios.loadtest.UserEndpointsLoadTest.ScenarioResult;
+import com.sistemaEventos.servico_usuarios.security.RequesterPrincipal;
+import com.sistemaEventos.servico_usuarios.service.UserService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.security.KeyPairGenerator;
+import java.sql.DatabaseMetaData;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Mede a busca de usuários por nome/e-mail ({@code GET /users/search?q=}) no PostgreSQL.
+ * <p>
+ * Popula a base com {@code loadtest.search.users} usuários (padrão 1 milhão, 1% excluídos)
+ * gerados por SQL de forma determinística: nomes de 30 × 20 × 10 combinações e, para metade
+ * dos usuários, e-mail iniciado pelo primeiro nome. Depois compara, para termos de
+ * seletividade variada (incluindo termos sem nenhum resultado), a consulta anterior
+ * ({@code OR} entre nome e e-mail, ordenada pelo e-mail) com {@link UserService#searchUsers},
+ * nos modos prefixo e trecho, lendo até {@code loadtest.search.pages} páginas de 20. A consulta
+ * anterior mede apenas os IDs; a atual, a página completa. O relatório com p50, p99 e máximo por
+ * cenário é gravado em {@code target/loadtest/user-search-results.json}.
+ * <p>
+ * Requer um PostgreSQL vazio com permissão para {@code CREATE EXTENSION pg_trgm}; no H2 o teste é
+ * ignorado. Exemplo:
+ * {@code mvn -Ploadtest test -Dtest=UserSearchQueriesLoadTest -Dloadtest.datasource.url=jdbc:postgresql://localhost:5432/loadtest
+ * -Dloadtest.datasource.username=postgres}.
+ * <p>
+ * Executado apenas com o profile Maven {@code loadtest}.
+ */
+@Tag("load")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = {
+        "spring.datasource.url=${loadtest.datasource.url:jdbc:h2:mem:searchtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1}",
+        "spring.datasource.username=${loadtest.datasource.username:sa}",
+        "spring.datasource.password=${loadtest.datasource.password:}",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "eureka.client.enabled=false",
+        "spring.cloud.discovery.enabled=false",
+        "jwt.expiration-time=3600000",
+        "grpc.server.port=-1",
+        "servico-usuarios.warmup.enabled=false"
+})
+class UserSearchQueriesLoadTest {
+    private static final int PAGE_SIZE = 20;
+
+    private static final List<String> SEARCH_INDEXES = List.of(
+            "idx_users_email_search", "idx_users_fullname_search",
+            "idx_users_email_search_trgm", "idx_users_fullname_search_trgm");
+
+    /**
+     * Termos de prefixo: frequentes, raros e sem resultado.
+     */
+    private static final List<String> PREFIXES = List.of(
+            "a", "an", "ana", "ana.", "ana silva", "bruno santos", "pedro", "user0", "userf",
+            "usera1b", "j", "jo", "helena r", "silva", "rocha", "z", "zz", "xyz", "carla.9");
+
+    /**
+     * Termos de trecho (mínimo de 3 caracteres): frequentes, raros e sem resultado.
+     */
+    private static final List<String> FRAGMENTS = List.of(
+            "silva", "rocha", "ana s", "abc", "a1b2", "example", "lima dias", "zz9q", "silvaq", "xyzw");
+
+    private static final String OLD_QUERY =
+            "SELECT u.id, u.email FROM users u WHERE u.deleted_at IS NULL " +
+            "AND (lower(u.fullname) LIKE ? ESCAPE '\\' OR lower(u.email) LIKE ? ESCAPE '\\') " +
+            "AND u.email > ? ORDER BY u.email LIMIT ?";
+
+    /**
+     * Gerador da base: determinístico, para que as medições sejam comparáveis entre execuções. Os
+     * CPFs seguem {@link CpfGenerator} (base {@code 100000000 + i} e os dígitos verificadores).
+     */
+    private static final String SEED = """
+            INSERT INTO users (id, cpf, fullname, email, password, birth_date, complete, created_at, updated_at, deleted_at)
+            SELECT md5('user-' || i),
+                   b.base || c1.d1 || c2.d2,
+                   n.name,
+                   CASE WHEN i % 2 = 0 THEN lower(split_part(n.name, ' ', 1)) || '.' || substr(md5(i::text), 1, 10)
+                        ELSE 'user' || md5(i::text) END || '@example.com',
+                   'hash',
+                   DATE '1990-01-01' + i % 10000,
+                   true,
+                   now(), now(),
+                   CASE WHEN i % 100 = 0 THEN now() END
+            FROM generate_series(1, ?) i
+            CROSS JOIN LATERAL (SELECT (100000000 + i)::text AS base) b
+            CROSS JOIN LATERAL (SELECT (11 - sum(substr(b.base, k, 1)::int * (11 - k)) % 11) % 11 % 10 AS d1
+                                FROM generate_series(1, 9) k) c1
+            CROSS JOIN LATERAL (SELECT (11 - sum(substr(b.base || c1.d1, k, 1)::int * (12 - k)) % 11) % 11 % 10 AS d2
+                                FROM generate_series(1, 10) k) c2
+            CROSS JOIN LATERAL (SELECT
+                    (ARRAY['Ana','Bruno','Carla','Daniel','Eduarda','Felipe','Gabriela','Henrique','Isabela','Joao',
+                           'Karina','Lucas','Mariana','Nicolas','Olivia','Pedro','Rafaela','Samuel','Tatiana','Vitor',
+                           'Aline','Beatriz','Caio','Diego','Elisa','Fernanda','Gustavo','Helena','Igor','Julia'])[1 + (i * 7) % 30]
+                    || ' ' || (ARRAY['Silva','Santos','Oliveira','Souza','Rodrigues','Ferreira','Alves','Pereira','Lima','Gomes',
+                           'Costa','Ribeiro','Martins','Carvalho','Almeida','Lopes','Soares','Fernandes','Vieira','Barbosa'])[1 + (i * 13) % 20]
+                    || ' ' || (ARRAY['Rocha','Dias','Nascimento','Andrade','Moreira','Nunes','Marques','Machado','Mendes',
+                           'Freitas'])[1 + (i * 3) % 10] AS name) n
+            """;
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private UserService userService;
+
+    @Value("${loadtest.search.users:1000000}")
+    private int seededUsers;
+    @Value("${loadtest.search.pages:5}")
+    private int pages;
+
+    private JdbcTemplate jdbcTemplate;
+    private final RequesterPrincipal admin = RequesterPrincipal.of("loadtest-admin", "ROLE_ADMIN");
+
+    @DynamicPropertySource
+    static void jwtKey(DynamicPropertyRegistry registry) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        String privateKey = Base64.getEncoder().encodeToString(generator.generateKeyPair().getPrivate().getEncoded());
+        registry.add("jwt.private-key", () -> privateKey);
+    }
+
+    @BeforeAll
+    void seed() throws Exception {
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        assumeTrue("PostgreSQL".equals(product), "A busca só é medida no PostgreSQL (-Dloadtest.datasource.url)");
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        awaitSearchIndexes();
+        jdbcTemplate.update(SEED, seededUsers);
+        jdbcTemplate.execute("VACUUM ANALYZE users");
+    }
+
+    @Test
+    void measureSearch() throws Exception {
+        Map<String, ScenarioResult> results = new LinkedHashMap<>();
+        // Duas rodadas: a primeira aquece o cache do banco e é descartada
+        for (int round = 0; round < 2; round++) {
+            results.put("old prefix", measure(PREFIXES, this::oldSearch, "", "%"));
+            results.put("prefix", measure(PREFIXES, (term, after) -> search(term, UserSearchMatch.PREFIX, after), "", ""));
+            results.put("old contains", measure(FRAGMENTS, this::oldSearch, "%", "%"));
+            results.put("contains", measure(FRAGMENTS, (term, after) -> search(term, UserSearchMatch.CONTAINS, after), "", ""));
+        }
+
+        writeReport(results);
+
+        results.forEach((scenario, result) -> assertEquals(0, result.errors(), "Buscas com erro em " + scenario));
+    }
+
+    /**
+     * Lê até {@code pages} páginas de cada termo, medindo cada página.
+     */
+    private ScenarioResult measure(List<String> terms, PageReader reader, String before, String after) {
+        List<Long> latencies = new ArrayList<>();
+        long start = System.nanoTime();
+        for (String term : terms) {
+            String cursor = null;
+            for (int page = 0; page < pages; page++) {
+                long begin = System.nanoTime();
+                cursor = reader.read(before + term + after, cursor);
+                latencies.add(System.nanoTime() - begin);
+                if (cursor == null) {
+                    break;
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        return ScenarioResult.of(latencies.stream().mapToLong(Long::longValue).toArray(), 0, elapsed, 1);
+    }
+
+    /**
+     * A consulta anterior: o cursor é o último e-mail entregue.
+     */
+    private String oldSearch(String pattern, String cursor) {
+        List<String> emails = jdbcTemplate.query(OLD_QUERY, (rs, row) -> rs.getString(2),
+                pattern, pattern, cursor == null ? "" : cursor, PAGE_SIZE);
+        return emails.size() == PAGE_SIZE ? emails.get(emails.size() - 1) : null;
+    }
+
+    private String search(String term, UserSearchMatch match, String cursor) {
+        UserSearchPageDTO page = userService.searchUsers(term, match, cursor, PAGE_SIZE, admin);
+        return page.nextCursor();
+    }
+
+    /**
+     * Aguarda os índices de busca, criados em segundo plano na inicialização.
+     */
+    private void awaitSearchIndexes() throws InterruptedException {
+        long deadline = System.nanoTime() + 120_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            Integer ready = jdbcTemplate.queryForObject("SELECT count(*) FROM pg_index WHERE indisvalid "
+                    + "AND indexrelid::regclass::text = ANY (?)", Integer.class, (Object) SEARCH_INDEXES.toArray(String[]::new));
+            if (ready != null && ready == SEARCH_INDEXES.size()) {
+                return;
+            }
+            Thread.sleep(200);
+        }
+        fail("Índices de busca não criados: " + SEARCH_INDEXES);
+    }
+
+    private void writeReport(Map<String, ScenarioResult> results) throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("database", jdbcTemplate.queryForObject("SELECT version()", String.class));
+        report.put("seededUsers", seededUsers);
+        report.put("pageSize", PAGE_SIZE);
+        report.put("scenarios", results);
+
+        File output = new File("target/loadtest/user-search-results.json");
+        output.getParentFile().mkdirs();
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output, report);
+    }
+
+    @FunctionalInterface
+    private interface PageReader {
+        /**
+         * @return O cursor da próxima página ({@code null} na última).
+         */
+        String read(String term, String cursor);
+    }
+}
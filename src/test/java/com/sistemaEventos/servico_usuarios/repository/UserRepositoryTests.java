@@ -0,0 +1,67 @@
+package com.sistemaEventos.servico_usuarios.repository;
+
+import com.sistemaEventos.servico_usuarios.model.CPF;
+import com.sistemaEventos.servico_usuarios.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Usa um banco H2 em memória: os comandos de escrita não dependem de recursos do PostgreSQL.
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:repository;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE")
+class UserRepositoryTests {
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void updateKeepsNullFieldsAndCompletesTheRegistration() {
+        User user = save("52998224725", null, null);
+        Instant updatedAt = Instant.now().plusSeconds(60).truncatedTo(ChronoUnit.MICROS);
+
+        assertEquals(1, userRepository.updateActiveUser(user.getId(), "Ana Souza", null, updatedAt));
+        User named = userRepository.findActiveUserById(user.getId()).orElseThrow();
+        assertEquals("Ana Souza", named.getFullname());
+        assertNull(named.getBirthDate());
+        assertFalse(named.isComplete());
+        assertEquals(updatedAt, named.getUpdatedAt());
+
+        assertEquals(1, userRepository.updateActiveUser(user.getId(), null, LocalDate.of(1990, 5, 1), updatedAt));
+        User complete = userRepository.findActiveUserById(user.getId()).orElseThrow();
+        assertEquals("Ana Souza", complete.getFullname());
+        assertEquals(LocalDate.of(1990, 5, 1), complete.getBirthDate());
+        assertTrue(complete.isComplete());
+    }
+
+    @Test
+    void updateIgnoresDeletedUsers() {
+        User user = save("11144477735", "Bruno Lima", LocalDate.of(1985, 1, 1));
+
+        assertEquals(1, userRepository.softDeleteActiveById(user.getId(), Instant.now()));
+        assertEquals(0, userRepository.softDeleteActiveById(user.getId(), Instant.now()));
+        assertEquals(0, userRepository.updateActiveUser(user.getId(), "Outro Nome", null, Instant.now()));
+        assertTrue(userRepository.findActiveUserById(user.getId()).isEmpty());
+    }
+
+    private User save(String cpf, String fullname, LocalDate birthDate) {
+        User user = new User();
+        user.setId(UUID.randomUUID().toString());
+        user.setCpf(new CPF(cpf));
+        user.setFullname(fullname);
+        user.setEmail(cpf + "@example.com");
+        user.setPassword("hash");
+        user.setBirthDate(birthDate);
+        user.setComplete(fullname != null && birthDate != null);
+        return userRepository.saveAndFlush(user);
+    }
+}
@@ -0,0 +1,141 @@
+package com.sistemaEventos.servico_usuarios.search;
+
+import com.sistemaEventos.servico_usuarios.dto.UserSearchDocumentDTO;
+import com.sistemaEventos.servico_usuarios.event.UserChangedEvent;
+import com.sistemaEventos.servico_usuarios.model.CPF;
+import com.sistemaEventos.servico_usuarios.model.User;
+import com.sistemaEventos.servico_usuarios.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserSearchIndexTests {
+    @TempDir
+    private Path directory;
+
+    private UserSearchIndex index;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.destroy();
+    }
+
+    @Test
+    void nextPagesReadTheIndexVersionOfTheFirstPage() throws Exception {
+        index = startIndex(300, 6);
+
+        UserSearchIndex.Hits first = index.search("ana", null, 3);
+        // Após a primeira página: um usuário mais relevante e a exclusão de um já entregue
+        index.onUserChanged(new UserChangedEvent(null, "novo", user("novo", "Ana Ana Ana", "ana@ana.com", 9)));
+        index.onUserChanged(new UserChangedEvent(null, first.ids().get(0), null));
+        index.sync();
+        UserSearchIndex.Hits second = index.search("ana", first.nextCursor(), 10);
+
+        Set<String> all = new HashSet<>(first.ids());
+        all.addAll(second.ids());
+        assertEquals(6, all.size());
+        assertFalse(all.contains("novo"));
+        // Uma busca nova vê as alterações
+        assertTrue(index.search("ana", null, 10).ids().contains("novo"));
+    }
+
+    @Test
+    void cursorOfAnExpiredIndexVersionIsRejected() throws Exception {
+        index = startIndex(0, 4);
+
+        UserSearchIndex.Hits first = index.search("ana", null, 2);
+        index.onUserChanged(new UserChangedEvent(null, "novo", user("novo", "Ana Nova", "nova@x.com", 9)));
+        index.sync();
+        // Outra paginação na versão nova; a anterior expira
+        index.search("ana", null, 2);
+        Thread.sleep(1100);
+        index.sync();
+
+        assertThrows(IllegalArgumentException.class, () -> index.search("ana", first.nextCursor(), 2));
+    }
+
+    @Test
+    void invalidCursorIsRejected() throws Exception {
+        index = startIndex(300, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> index.search("ana", "ix.invalido", 2));
+        assertThrows(IllegalArgumentException.class, () -> index.search("ana", "outro", 2));
+    }
+
+    private UserSearchIndex startIndex(long cursorTtlSeconds, int users) throws Exception {
+        List<UserSearchDocumentDTO> documents = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            documents.add(new UserSearchDocumentDTO("id" + i, "Ana Silva " + i, "ana" + i + "@x.com", new CPF(cpf(i)), null));
+        }
+        UserRepository repository = (UserRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{UserRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "streamActiveSearchDocuments" -> documents.stream();
+                    case "findChangedVersionsAfter", "findSearchDocumentsByIdIn" -> List.of();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+
+        UserSearchIndex started = new UserSearchIndex(repository, new NoTransactionManager(),
+                directory.toString(), 100, 0, cursorTtlSeconds);
+        started.start();
+        for (int i = 0; i < 500 && !started.isReady(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(started.isReady());
+        return started;
+    }
+
+    private static User user(String id, String fullname, String email, int cpfIndex) {
+        User user = new User();
+        user.setId(id);
+        user.setFullname(fullname);
+        user.setEmail(email);
+        user.setCpf(new CPF(cpf(cpfIndex)));
+        return user;
+    }
+
+    private static String cpf(int index) {
+        String base = String.valueOf(100_000_000 + index);
+        int dig10 = checkDigit(base, 10);
+        return base + dig10 + checkDigit(base + dig10, 11);
+    }
+
+    private static int checkDigit(String digits, int weight) {
+        int sum = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            sum += (digits.charAt(i) - '0') * (weight - i);
+        }
+        int r = 11 - (sum % 11);
+        return r >= 10 ? 0 : r;
+    }
+
+    private static final class NoTransactionManager extends AbstractPlatformTransactionManager {
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {}
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {}
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {}
+    }
+}
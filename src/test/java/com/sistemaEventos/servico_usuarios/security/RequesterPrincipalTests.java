@@ -0,0 +1,56 @@
+package com.sistemaEventos.servico_usuarios.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequesterPrincipalTests {
+
+    @Test
+    void adminRequiresTheExactRole() {
+        assertTrue(RequesterPrincipal.of("u1", "ROLE_USER,ROLE_ADMIN").admin());
+        assertFalse(RequesterPrincipal.of("u1", "ROLE_ADMIN_X").admin());
+        assertFalse(RequesterPrincipal.of("u1", "ROLE_SUPER_ADMIN,ROLE_USER").admin());
+        assertFalse(RequesterPrincipal.of("u1", "role_admin").admin());
+    }
+
+    @Test
+    void rolesAreTrimmedAndEmptyEntriesIgnored() {
+        RequesterPrincipal principal = RequesterPrincipal.of("u1", " ROLE_USER , ,ROLE_ADMIN,,ROLE_USER, ");
+
+        assertEquals(Set.of("ROLE_USER", "ROLE_ADMIN"), principal.roles());
+        assertTrue(principal.admin());
+    }
+
+    @Test
+    void blankHeaderHasNoRoles() {
+        for (String header : new String[]{null, "", "   ", ",", " , "}) {
+            RequesterPrincipal principal = RequesterPrincipal.of("u1", header);
+
+            assertEquals(Set.of(), principal.roles(), "header: [" + header + "]");
+            assertFalse(principal.admin());
+        }
+    }
+
+    @Test
+    void rolesAreImmutable() {
+        RequesterPrincipal principal = RequesterPrincipal.of("u1", "ROLE_USER");
+
+        assertThrows(UnsupportedOperationException.class, () -> principal.roles().add(RequesterPrincipal.ADMIN_ROLE));
+    }
+
+    @Test
+    void ownerIsComparedById() {
+        RequesterPrincipal principal = RequesterPrincipal.of("u1", "ROLE_USER");
+
+        assertTrue(principal.isOwner("u1"));
+        assertFalse(principal.isOwner("u2"));
+        assertFalse(principal.isOwner(null));
+        assertFalse(RequesterPrincipal.of(null, "ROLE_USER").isOwner(null));
+    }
+}
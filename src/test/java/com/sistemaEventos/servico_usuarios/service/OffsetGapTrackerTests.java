@@ -0,0 +1,47 @@
+package com.sistemaEventos.servico_usuarios.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OffsetGapTrackerTests {
+    @Test
+    void contiguousPageIsDeliveredWhole() {
+        OffsetGapTracker tracker = new OffsetGapTracker(Duration.ofSeconds(30));
+
+        assertEquals(List.of(5L, 6L, 7L), contiguous(tracker, 4, List.of(5L, 6L, 7L)));
+        assertEquals(List.of(), contiguous(tracker, 4, List.of()));
+    }
+
+    @Test
+    void pageStopsAtTheFirstMissingOffset() {
+        OffsetGapTracker tracker = new OffsetGapTracker(Duration.ofSeconds(30));
+
+        // O offset 7 pode ser de uma transação ainda não confirmada: o 8 não é entregue antes dele
+        assertEquals(List.of(5L, 6L), contiguous(tracker, 4, List.of(5L, 6L, 8L, 9L)));
+        // Buraco logo após o offset do consumidor
+        assertEquals(List.of(), contiguous(tracker, 6, List.of(8L, 9L)));
+        // Preenchido o buraco, a página segue normalmente
+        assertEquals(List.of(7L, 8L, 9L), contiguous(tracker, 6, List.of(7L, 8L, 9L)));
+    }
+
+    @Test
+    void gapIsSkippedAfterTheTimeout() throws InterruptedException {
+        OffsetGapTracker tracker = new OffsetGapTracker(Duration.ofMillis(50));
+
+        assertEquals(List.of(1L), contiguous(tracker, 0, List.of(1L, 3L)));
+        Thread.sleep(100);
+
+        // Rollback: o offset 2 nunca será confirmado
+        assertEquals(List.of(1L, 3L), contiguous(tracker, 0, List.of(1L, 3L)));
+        // Um buraco novo continua cortando a página
+        assertEquals(List.of(3L), contiguous(tracker, 2, List.of(3L, 5L)));
+    }
+
+    private static List<Long> contiguous(OffsetGapTracker tracker, long after, List<Long> offsets) {
+        return tracker.contiguous(after, offsets, Long::longValue);
+    }
+}
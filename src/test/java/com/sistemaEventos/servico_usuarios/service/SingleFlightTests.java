@@ -0,0 +1,195 @@
+package com.sistemaEventos.servico_usuarios.service;
+
+import com.sistemaEventos.servico_usuarios.config.RequestDeadline;
+import com.sistemaEventos.servico_usuarios.exception.DeadlineExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTests {
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallsShareOneExecution() throws Exception {
+        SingleFlight<String, String> singleFlight = singleFlight(Duration.ofSeconds(5));
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> singleFlight.execute("chave", () -> {
+            executions.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "valor";
+        }));
+        started.await();
+        Future<String> follower = executor.submit(() -> singleFlight.execute("chave", () -> {
+            executions.incrementAndGet();
+            return "outro";
+        }));
+        Thread.sleep(100);
+        release.countDown();
+
+        assertEquals("valor", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("valor", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void nothingIsKeptAfterCompletion() {
+        SingleFlight<String, Integer> singleFlight = singleFlight(Duration.ofSeconds(5));
+        AtomicInteger executions = new AtomicInteger();
+
+        singleFlight.execute("chave", executions::incrementAndGet);
+        singleFlight.execute("chave", executions::incrementAndGet);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void failureIsPropagatedToWaiters() throws Exception {
+        SingleFlight<String, String> singleFlight = singleFlight(Duration.ofSeconds(5));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> singleFlight.execute("chave", () -> {
+            started.countDown();
+            await(release);
+            throw new IllegalStateException("falha");
+        }));
+        started.await();
+        Future<String> follower = executor.submit(() -> singleFlight.execute("chave", () -> "outro"));
+        Thread.sleep(100);
+        release.countDown();
+
+        assertInstanceOf(IllegalStateException.class,
+                assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS)).getCause());
+        assertInstanceOf(IllegalStateException.class,
+                assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS)).getCause());
+    }
+
+    @Test
+    void errorIsPropagatedToWaitersInsteadOfBlockingThem() throws Exception {
+        SingleFlight<String, String> singleFlight = singleFlight(Duration.ofSeconds(30));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> singleFlight.execute("chave", () -> {
+            started.countDown();
+            await(release);
+            throw new AssertionError("falha grave");
+        }));
+        started.await();
+        Future<String> follower = executor.submit(() -> singleFlight.execute("chave", () -> "outro"));
+        Thread.sleep(100);
+        release.countDown();
+
+        assertInstanceOf(AssertionError.class,
+                assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS)).getCause());
+        assertInstanceOf(AssertionError.class,
+                assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS)).getCause());
+        assertEquals("novo", singleFlight.execute("chave", () -> "novo"));
+    }
+
+    @Test
+    void waiterRunsItsOwnCallAfterMaxWait() throws Exception {
+        SingleFlight<String, String> singleFlight = singleFlight(Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        executor.submit(() -> singleFlight.execute("chave", () -> {
+            started.countDown();
+            await(release);
+            return "lento";
+        }));
+        started.await();
+
+        try {
+            assertEquals("próprio", singleFlight.execute("chave", () -> "próprio"));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void sharedCallRunsWithoutTheLeadersDeadline() {
+        SingleFlight<String, Duration> singleFlight = singleFlight(Duration.ofSeconds(5));
+        RequestDeadline.set(Duration.ofMillis(200));
+        try {
+            assertNull(singleFlight.execute("chave", RequestDeadline::remaining));
+            assertNotNull(RequestDeadline.remaining());
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
+    @Test
+    void waiterGivesUpAtItsOwnDeadline() throws Exception {
+        SingleFlight<String, String> singleFlight = singleFlight(Duration.ofSeconds(30));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        Future<String> leader = executor.submit(() -> singleFlight.execute("chave", () -> {
+            started.countDown();
+            await(release);
+            return "lento";
+        }));
+        started.await();
+
+        RequestDeadline.set(Duration.ofMillis(50));
+        try {
+            DeadlineExceededException e = assertThrows(DeadlineExceededException.class,
+                    () -> singleFlight.execute("chave", () -> "próprio" + executions.incrementAndGet()));
+            assertEquals("coalesce", e.getStage());
+            assertEquals(0, executions.get());
+        } finally {
+            RequestDeadline.clear();
+            release.countDown();
+        }
+        assertEquals("lento", leader.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void expiredCallDoesNotJoinOrStartAQuery() {
+        SingleFlight<String, String> singleFlight = singleFlight(Duration.ofSeconds(5));
+        RequestDeadline.set(Duration.ZERO);
+        try {
+            assertThrows(DeadlineExceededException.class, () -> singleFlight.execute("chave", () -> "valor"));
+        } finally {
+            RequestDeadline.clear();
+        }
+        assertEquals("valor", singleFlight.execute("chave", () -> "valor"));
+    }
+
+    private static <V> SingleFlight<String, V> singleFlight(Duration maxWait) {
+        return new SingleFlight<>("teste", maxWait, new SimpleMeterRegistry());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
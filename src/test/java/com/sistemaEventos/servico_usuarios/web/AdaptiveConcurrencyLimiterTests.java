@@ -0,0 +1,111 @@
+package com.sistemaEventos.servico_usuarios.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTests {
+    private static final long FAST = 0;
+    private static final long SLOW = Duration.ofHours(1).toNanos();
+
+    @Test
+    void acquireIsRefusedAtTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 1, 10, Duration.ofSeconds(1));
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.inflight());
+
+        limiter.release(FAST);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void limitGrowsAdditivelyWhileInUse() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 1, 100, Duration.ofSeconds(1));
+        for (int i = 0; i < 9; i++) {
+            limiter.acquire();
+        }
+
+        // Cerca de +1 a cada "limite" requisições: limite² ≈ 10² + 2 × 30
+        for (int i = 0; i < 30; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(FAST);
+        }
+
+        assertEquals(12, limiter.limit());
+    }
+
+    @Test
+    void limitDoesNotGrowWithoutLoad() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 1, 100, Duration.ofSeconds(1));
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(FAST);
+        }
+
+        assertEquals(10, limiter.limit());
+    }
+
+    @Test
+    void slowRequestDecreasesTheLimitMultiplicatively() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 1, 100, Duration.ofSeconds(1));
+
+        limiter.acquire();
+        limiter.release(SLOW);
+
+        assertEquals(18, limiter.limit());
+    }
+
+    @Test
+    void backsOffAtMostOncePerInterval() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 1, 100, Duration.ofMillis(200));
+
+        // Uma rajada de requisições lentas é um único sinal de sobrecarga
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire();
+            limiter.release(SLOW);
+        }
+        assertEquals(18, limiter.limit());
+
+        Thread.sleep(250);
+        limiter.acquire();
+        limiter.release(SLOW);
+        assertEquals(16, limiter.limit());
+    }
+
+    @Test
+    void limitStaysWithinTheBounds() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 5, 11, Duration.ofMillis(1));
+
+        for (int i = 0; i < 20; i++) {
+            Thread.sleep(2);
+            limiter.acquire();
+            limiter.release(SLOW);
+        }
+        assertEquals(5, limiter.limit());
+
+        // Carga acima do limite (bulkheads desativados contam sem limitar)
+        for (int i = 0; i < 9; i++) {
+            limiter.acquire();
+        }
+        for (int i = 0; i < 200; i++) {
+            limiter.acquire();
+            limiter.release(FAST);
+        }
+        assertEquals(11, limiter.limit());
+
+        assertEquals(20, limiter(100, 1, 20, Duration.ofSeconds(1)).limit());
+        assertEquals(5, limiter(0, 5, 20, Duration.ofSeconds(1)).limit());
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(int initial, int min, int max, Duration targetLatency) {
+        return new AdaptiveConcurrencyLimiter(initial, min, max, targetLatency.toNanos());
+    }
+}
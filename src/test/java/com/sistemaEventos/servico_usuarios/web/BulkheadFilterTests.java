@@ -0,0 +1,163 @@
+package com.sistemaEventos.servico_usuarios.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sistemaEventos.servico_usuarios.web.BulkheadFilter.EndpointClass;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkheadFilterTests {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void endpointsAreClassifiedByMethodAndPath() {
+        assertEquals(EndpointClass.READ, classify("GET", "/users/me"));
+        assertEquals(EndpointClass.READ, classify("GET", "/users/123"));
+        assertEquals(EndpointClass.READ, classify("GET", "/users/search"));
+        assertEquals(EndpointClass.WRITE, classify("PUT", "/users/123"));
+        assertEquals(EndpointClass.WRITE, classify("DELETE", "/users/123"));
+        assertEquals(EndpointClass.AUTH, classify("POST", "/auth/login"));
+        assertEquals(EndpointClass.AUTH, classify("POST", "/auth/register"));
+        // A sincronização paga um BCrypt
+        assertEquals(EndpointClass.AUTH, classify("POST", "/users/sync"));
+        assertEquals(EndpointClass.BULK, classify("GET", "/users"));
+        assertEquals(EndpointClass.BULK, classify("GET", "/users/changes"));
+        assertEquals(EndpointClass.BULK, classify("POST", "/users/batch"));
+
+        assertNull(classify("GET", "/users/events"));
+        assertNull(classify("GET", "/users/events/stream"));
+        assertNull(classify("GET", "/actuator/health"));
+        assertNull(classify("GET", "/actuator/prometheus"));
+
+        MockHttpServletRequest withContextPath = new MockHttpServletRequest("GET", "/api/users/me");
+        withContextPath.setContextPath("/api");
+        assertEquals(EndpointClass.READ, BulkheadFilter.classify(withContextPath));
+    }
+
+    @Test
+    void excessIsRejectedWithTheStatusOfTheClass() throws Exception {
+        BulkheadFilter filter = filter(true);
+
+        assertEquals(503, statusWhileFull(filter, "GET", "/users/me"));
+        assertEquals(503, statusWhileFull(filter, "PUT", "/users/123"));
+        assertEquals(429, statusWhileFull(filter, "POST", "/auth/login"));
+        assertEquals(429, statusWhileFull(filter, "GET", "/users/changes"));
+        assertEquals(1.0, meterRegistry.get("users.bulkhead.rejected").tag("class", "auth").counter().count());
+    }
+
+    @Test
+    void rejectionHasRetryAfterAndJsonBody() throws Exception {
+        BulkheadFilter filter = filter(true);
+        AtomicReference<MockHttpServletResponse> rejected = new AtomicReference<>();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/users/me"), new MockHttpServletResponse(), (req, res) -> {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/users/me"), response, (r, s) -> {});
+            rejected.set(response);
+        });
+
+        assertEquals("1", rejected.get().getHeader(HttpHeaders.RETRY_AFTER));
+        assertTrue(rejected.get().getContentType().startsWith("application/json"));
+        assertTrue(rejected.get().getContentAsString().contains("sobrecarregado"));
+    }
+
+    @Test
+    void permitIsReleasedWhenTheRequestFails() throws Exception {
+        BulkheadFilter filter = filter(true);
+        FilterChain failing = (request, response) -> {
+            throw new ServletException("falha");
+        };
+
+        assertThrows(ServletException.class, () ->
+                filter.doFilter(new MockHttpServletRequest("GET", "/users/me"), new MockHttpServletResponse(), failing));
+
+        assertEquals(0, inflight("read"));
+        assertEquals(200, statusNow(filter, "GET", "/users/me"));
+    }
+
+    @Test
+    void asyncRequestHoldsThePermitUntilItCompletes() throws Exception {
+        BulkheadFilter filter = filter(true);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/me");
+        request.setAsyncSupported(true);
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+        assertEquals(1, inflight("read"));
+        // A vaga continua ocupada depois do primeiro despacho
+        assertEquals(503, statusNow(filter, "GET", "/users/123"));
+
+        request.getAsyncContext().complete();
+        assertEquals(0, inflight("read"));
+        assertEquals(200, statusNow(filter, "GET", "/users/123"));
+    }
+
+    @Test
+    void disabledBulkheadsCountButNeverReject() throws Exception {
+        BulkheadFilter filter = filter(false);
+        AtomicReference<Double> inflightInside = new AtomicReference<>();
+        MockHttpServletResponse second = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/users/me"), new MockHttpServletResponse(), (req, res) ->
+                filter.doFilter(new MockHttpServletRequest("GET", "/users/me"), second,
+                        (r, s) -> inflightInside.set(inflight("read"))));
+
+        assertEquals(200, second.getStatus());
+        assertEquals(2.0, inflightInside.get());
+        assertEquals(0, inflight("read"));
+    }
+
+    /**
+     * O status de uma segunda requisição enquanto a primeira ocupa a única vaga da classe.
+     */
+    private static int statusWhileFull(BulkheadFilter filter, String method, String path) throws Exception {
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(method, path), new MockHttpServletResponse(), (req, res) ->
+                filter.doFilter(new MockHttpServletRequest(method, path), second, (r, s) -> {}));
+        return second.getStatus();
+    }
+
+    private static int statusNow(BulkheadFilter filter, String method, String path) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(method, path), response, (r, s) -> {});
+        return response.getStatus();
+    }
+
+    private double inflight(String endpointClass) {
+        return meterRegistry.get("users.bulkhead.inflight").tag("class", endpointClass).gauge().value();
+    }
+
+    /**
+     * Um filtro com uma única vaga por classe.
+     */
+    private BulkheadFilter filter(boolean enabled) {
+        MockEnvironment environment = new MockEnvironment();
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            String prefix = "servico-usuarios.bulkhead." + endpointClass.name().toLowerCase(Locale.ROOT) + ".";
+            environment.setProperty(prefix + "initial-limit", "1");
+            environment.setProperty(prefix + "min-limit", "1");
+            environment.setProperty(prefix + "max-limit", "1");
+        }
+        return new BulkheadFilter(new ObjectMapper().registerModule(new JavaTimeModule()), meterRegistry,
+                environment, enabled);
+    }
+
+    private static EndpointClass classify(String method, String path) {
+        return BulkheadFilter.classify(new MockHttpServletRequest(method, path));
+    }
+}
@@ -0,0 +1,225 @@
+package com.sistemaEventos.servico_usuarios.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sistemaEventos.servico_usuarios.model.IdempotencyKey;
+import com.sistemaEventos.servico_usuarios.repository.IdempotencyKeyRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Usa um banco H2 em memória e transações reais (sem o rollback automático do teste): a
+ * chave só é vista por outras execuções depois de confirmada.
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:idempotency;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(IdempotencyStoreTests.Configuration.class)
+class IdempotencyStoreTests {
+    private static final Map<String, String> BODY = Map.of("email", "a@example.com");
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @Autowired
+    private IdempotencyStore store;
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        idempotencyKeyRepository.deleteAll();
+    }
+
+    @Test
+    void repeatedKeyReplaysTheOriginalResponse() {
+        AtomicInteger executions = new AtomicInteger();
+
+        ResponseEntity<String> first = execute("test", "key", BODY, executions);
+        ResponseEntity<String> replay = execute("test", "key", BODY, executions);
+
+        assertEquals(1, executions.get());
+        assertNull(first.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertEquals("true", replay.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertEquals(HttpStatus.CREATED, replay.getStatusCode());
+        assertEquals("criado", replay.getBody());
+    }
+
+    @Test
+    void withoutKeyTheActionAlwaysRuns() {
+        AtomicInteger executions = new AtomicInteger();
+
+        execute("test", null, BODY, executions);
+        execute("test", null, BODY, executions);
+
+        assertEquals(2, executions.get());
+        assertEquals(0, idempotencyKeyRepository.count());
+    }
+
+    @Test
+    void concurrentRepetitionWaitsForTheRunningExecution() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<ResponseEntity<String>> original = executor.submit(() -> store.execute("test", "key", BODY, String.class,
+                () -> null,
+                prepared -> {
+                    started.countDown();
+                    await(release);
+                    return created(executions);
+                }));
+        started.await();
+        Future<ResponseEntity<String>> repetition = executor.submit(() -> execute("test", "key", BODY, executions));
+        Thread.sleep(100);
+        release.countDown();
+
+        assertEquals(HttpStatus.CREATED, original.get(5, TimeUnit.SECONDS).getStatusCode());
+        assertEquals("true", repetition.get(5, TimeUnit.SECONDS).getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void sameKeyWithAnotherBodyIsRejected() {
+        execute("test", "key", BODY, new AtomicInteger());
+
+        assertThrows(IllegalArgumentException.class, () ->
+                execute("test", "key", Map.of("email", "b@example.com"), new AtomicInteger()));
+    }
+
+    @Test
+    void sameKeyInAnotherScopeIsIndependent() {
+        AtomicInteger executions = new AtomicInteger();
+
+        execute("a", "key", BODY, executions);
+        execute("b", "key", Map.of("outro", "corpo"), executions);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void failureRollsBackTheActionWithTheKey() {
+        assertThrows(IllegalStateException.class, () -> store.execute("test", "key", BODY, String.class,
+                () -> null,
+                prepared -> {
+                    // Escrita da própria ação, na mesma transação da chave
+                    idempotencyKeyRepository.save(new IdempotencyKey("marcador", new byte[32]));
+                    throw new IllegalStateException("falha");
+                }));
+        assertFalse(idempotencyKeyRepository.existsById("marcador"));
+
+        AtomicInteger executions = new AtomicInteger();
+        ResponseEntity<String> retry = execute("test", "key", BODY, executions);
+
+        assertEquals(1, executions.get());
+        assertNull(retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+    }
+
+    @Test
+    void concurrentRepetitionRunsAgainWhenTheOriginalFails() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<ResponseEntity<String>> original = executor.submit(() -> store.execute("test", "key", BODY, String.class,
+                () -> null,
+                prepared -> {
+                    started.countDown();
+                    await(release);
+                    throw new IllegalStateException("falha");
+                }));
+        started.await();
+        AtomicInteger executions = new AtomicInteger();
+        Future<ResponseEntity<String>> repetition = executor.submit(() -> execute("test", "key", BODY, executions));
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThrows(Exception.class, () -> original.get(5, TimeUnit.SECONDS));
+        assertNull(repetition.get(5, TimeUnit.SECONDS).getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void prepareFailureDoesNotUseTheKey() {
+        assertThrows(IllegalStateException.class, () -> store.execute("test", "key", BODY, String.class,
+                () -> {
+                    throw new IllegalStateException("falha");
+                },
+                prepared -> created(new AtomicInteger())));
+
+        assertFalse(idempotencyKeyRepository.existsById("test:key"));
+    }
+
+    @Test
+    void invalidKeyIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> execute("test", " ", BODY, new AtomicInteger()));
+        assertThrows(IllegalArgumentException.class, () -> execute("test", "k".repeat(256), BODY, new AtomicInteger()));
+    }
+
+    @Test
+    void expiredKeysArePurged() {
+        AtomicInteger executions = new AtomicInteger();
+        execute("test", "key", BODY, executions);
+
+        new IdempotencyStore(idempotencyKeyRepository, transactionManager, new ObjectMapper(),
+                new SimpleMeterRegistry(), -1).purgeExpired();
+        execute("test", "key", BODY, executions);
+
+        assertEquals(2, executions.get());
+    }
+
+    private ResponseEntity<String> execute(String scope, String key, Object body, AtomicInteger executions) {
+        return store.execute(scope, key, body, String.class, () -> null, prepared -> created(executions));
+    }
+
+    private static ResponseEntity<String> created(AtomicInteger executions) {
+        executions.incrementAndGet();
+        return ResponseEntity.status(HttpStatus.CREATED).body("criado");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @TestConfiguration
+    @Import(IdempotencyStore.class)
+    static class Configuration {
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.sistemaEventos.servico_usuarios.web;
+
+import com.sistemaEventos.servico_usuarios.config.RequestDeadline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestDeadlineFilterTests {
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+    private static final Duration MAX = Duration.ofMinutes(5);
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void missingOrInvalidHeadersHaveNoDeadline() {
+        assertNull(resolve());
+
+        request.addHeader(RequestDeadlineFilter.TIMEOUT_HEADER, " ");
+        request.addHeader(RequestDeadlineFilter.DEADLINE_HEADER, "amanhã");
+        assertNull(resolve());
+
+        request.removeHeader(RequestDeadlineFilter.TIMEOUT_HEADER);
+        request.addHeader(RequestDeadlineFilter.TIMEOUT_HEADER, "9223372036854775808"); // Long.MAX_VALUE + 1
+        assertNull(resolve());
+    }
+
+    @Test
+    void timeoutIsReadInMilliseconds() {
+        request.addHeader(RequestDeadlineFilter.TIMEOUT_HEADER, " 1500 ");
+
+        assertEquals(Duration.ofMillis(1500), resolve());
+    }
+
+    @Test
+    void shorterOfBothHeadersWins() {
+        request.addHeader(RequestDeadlineFilter.TIMEOUT_HEADER, "2000");
+        request.addHeader(RequestDeadlineFilter.DEADLINE_HEADER, Long.toString(NOW.toEpochMilli() + 800));
+        assertEquals(Duration.ofMillis(800), resolve());
+
+        request.removeHeader(RequestDeadlineFilter.DEADLINE_HEADER);
+        request.addHeader(RequestDeadlineFilter.DEADLINE_HEADER, Long.toString(NOW.toEpochMilli() + 5000));
+        assertEquals(Duration.ofMillis(2000), resolve());
+    }
+
+    @Test
+    void hugeValuesAreClampedToTheMaximum() {
+        request.addHeader(RequestDeadlineFilter.TIMEOUT_HEADER, Long.toString(Long.MAX_VALUE));
+        assertEquals(MAX, resolve());
+
+        request.removeHeader(RequestDeadlineFilter.TIMEOUT_HEADER);
+        request.addHeader(RequestDeadlineFilter.DEADLINE_HEADER, Long.toString(Long.MAX_VALUE));
+        assertEquals(MAX, resolve());
+    }
+
+    @Test
+    void pastValuesAreExpired() {
+        request.addHeader(RequestDeadlineFilter.TIMEOUT_HEADER, "0");
+        assertFalse(resolve().isPositive());
+
+        request.removeHeader(RequestDeadlineFilter.TIMEOUT_HEADER);
+        request.addHeader(RequestDeadlineFilter.TIMEOUT_HEADER, Long.toString(Long.MIN_VALUE));
+        assertTrue(resolve().isNegative());
+
+        request.removeHeader(RequestDeadlineFilter.TIMEOUT_HEADER);
+        request.addHeader(RequestDeadlineFilter.DEADLINE_HEADER, Long.toString(Long.MIN_VALUE));
+        assertTrue(resolve().isNegative());
+    }
+
+    @Test
+    void deadlineSaturatesInsteadOfOverflowing() {
+        RequestDeadline.set(Duration.ofSeconds(Long.MAX_VALUE));
+        assertFalse(RequestDeadline.isExpired());
+        assertTrue(RequestDeadline.remaining().compareTo(Duration.ofDays(365 * 70)) > 0);
+
+        RequestDeadline.set(Duration.ofSeconds(Long.MIN_VALUE));
+        assertTrue(RequestDeadline.isExpired());
+    }
+
+    private Duration resolve() {
+        return RequestDeadlineFilter.resolveTimeout(request, NOW, MAX);
+    }
+}
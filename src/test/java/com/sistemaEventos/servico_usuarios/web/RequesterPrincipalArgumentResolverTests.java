@@ -0,0 +1,81 @@
+package com.sistemaEventos.servico_usuarios.web;
+
+import com.sistemaEventos.servico_usuarios.security.RequesterPrincipal;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.bind.MissingRequestHeaderException;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequesterPrincipalArgumentResolverTests {
+    private final RequesterPrincipalArgumentResolver resolver = new RequesterPrincipalArgumentResolver();
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+    private final ServletWebRequest webRequest = new ServletWebRequest(request);
+
+    @Test
+    void supportsOnlyRequesterPrincipal() throws Exception {
+        assertTrue(resolver.supportsParameter(parameter(0)));
+        assertFalse(resolver.supportsParameter(parameter(1)));
+    }
+
+    @Test
+    void resolvesPrincipalFromHeaders() throws Exception {
+        request.addHeader(RequesterPrincipal.USER_ID_HEADER, "u1");
+        request.addHeader(RequesterPrincipal.ROLES_HEADER, "ROLE_USER, ROLE_ADMIN");
+
+        RequesterPrincipal principal = resolve();
+
+        assertEquals("u1", principal.userId());
+        assertEquals(Set.of("ROLE_USER", "ROLE_ADMIN"), principal.roles());
+        assertTrue(principal.admin());
+        assertSame(principal, resolve(), "o principal é lido uma única vez por requisição");
+    }
+
+    @Test
+    void emptyRolesHeaderResolvesWithoutRoles() throws Exception {
+        request.addHeader(RequesterPrincipal.USER_ID_HEADER, "u1");
+        request.addHeader(RequesterPrincipal.ROLES_HEADER, "");
+
+        RequesterPrincipal principal = resolve();
+
+        assertEquals(Set.of(), principal.roles());
+        assertFalse(principal.admin());
+    }
+
+    @Test
+    void missingUserIdHeaderIsRejected() {
+        request.addHeader(RequesterPrincipal.ROLES_HEADER, "ROLE_ADMIN");
+
+        MissingRequestHeaderException e = assertThrows(MissingRequestHeaderException.class, this::resolve);
+        assertEquals(RequesterPrincipal.USER_ID_HEADER, e.getHeaderName());
+    }
+
+    @Test
+    void missingRolesHeaderIsRejected() {
+        request.addHeader(RequesterPrincipal.USER_ID_HEADER, "u1");
+
+        MissingRequestHeaderException e = assertThrows(MissingRequestHeaderException.class, this::resolve);
+        assertEquals(RequesterPrincipal.ROLES_HEADER, e.getHeaderName());
+    }
+
+    private RequesterPrincipal resolve() throws Exception {
+        return (RequesterPrincipal) resolver.resolveArgument(parameter(0), null, webRequest, null);
+    }
+
+    private static MethodParameter parameter(int index) throws NoSuchMethodException {
+        return new MethodParameter(RequesterPrincipalArgumentResolverTests.class
+                .getDeclaredMethod("handler", RequesterPrincipal.class, String.class), index);
+    }
+
+    @SuppressWarnings("unused")
+    private void handler(RequesterPrincipal requester, String other) {
+    }
+}